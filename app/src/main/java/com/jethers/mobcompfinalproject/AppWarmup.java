@@ -0,0 +1,90 @@
+package com.jethers.mobcompfinalproject;
+
+import android.app.Application;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.speech.tts.TextToSpeech;
+import android.util.Log;
+
+import com.jethers.mobcompfinalproject.ocr.OcrEngines;
+import com.jethers.mobcompfinalproject.speech.TtsManager;
+import com.jethers.mobcompfinalproject.translation.LanguageDetector;
+import com.jethers.mobcompfinalproject.translation.TranslationService;
+
+/**
+ * Start-up warm-up of the engines every screen needs: the shared TTS engine, the ML Kit text
+ * recognizer and language identifier, and a pooled connection to the translation backend.
+ * Nothing starts until the main thread first goes idle, i.e. after the first frame, and the
+ * ML Kit work runs on a background-priority thread. Each step's duration is logged.
+ */
+final class AppWarmup {
+    private static final String TAG = "AppWarmup";
+
+    static final String STEP_TTS = "tts";
+    static final String STEP_OCR = "ocr";
+    static final String STEP_NETWORK = "network";
+    static final String STEP_LANGUAGE_ID = "language_id";
+
+    private AppWarmup() {
+    }
+
+    /** Call from {@link Application#onCreate()}. */
+    static void start(Application app) {
+        Looper.myQueue().addIdleHandler(() -> {
+            warmUpTts(app);
+            warmUpNetwork();
+            Thread ocrThread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                warmUpOcr();
+                warmUpLanguageId();
+            }, "warmup-ocr");
+            ocrThread.start();
+            return false;
+        });
+    }
+
+    private static void warmUpTts(Application app) {
+        long start = SystemClock.elapsedRealtime();
+        // Binding is asynchronous; readiness is reported back on the main thread
+        TtsManager.getInstance(app).whenReady(new TtsManager.Callback() {
+            @Override
+            public void onReady(TextToSpeech tts) {
+                record(STEP_TTS, start);
+            }
+
+            @Override
+            public void onUnavailable() {
+                record(STEP_TTS, start);
+            }
+        });
+    }
+
+    private static void warmUpNetwork() {
+        long start = SystemClock.elapsedRealtime();
+        TranslationService.warmUp(() -> record(STEP_NETWORK, start));
+    }
+
+    private static void warmUpOcr() {
+        long start = SystemClock.elapsedRealtime();
+        try {
+            OcrEngines.warmUp().addOnCompleteListener(task -> record(STEP_OCR, start));
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Text recognizer warm-up failed", e);
+        }
+    }
+
+    private static void warmUpLanguageId() {
+        long start = SystemClock.elapsedRealtime();
+        try {
+            LanguageDetector.getInstance().warmUp().addOnCompleteListener(task -> record(STEP_LANGUAGE_ID, start));
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Language identifier warm-up failed", e);
+        }
+    }
+
+    private static void record(String step, long start) {
+        long millis = SystemClock.elapsedRealtime() - start;
+        Log.i(TAG, "Warm-up " + step + " took " + millis + " ms");
+    }
+}
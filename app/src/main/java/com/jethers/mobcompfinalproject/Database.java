@@ -1,4 +1,346 @@
 package com.jethers.mobcompfinalproject;
 
-public class Database {
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import com.jethers.mobcompfinalproject.translation.TextSimilarity;
+import com.jethers.mobcompfinalproject.translation.TranslationMemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * On-device translation memory. Every translation is stored with its language pair and
+ * timestamps, and its source text is indexed by trigram so OCR results that differ by a
+ * misread character or two can be answered locally.
+ */
+public class Database extends SQLiteOpenHelper implements TranslationMemory {
+    private static final String TAG = "Database";
+    private static final String DATABASE_NAME = "translations.db";
+    private static final int DATABASE_VERSION = 2;
+
+    // Longer texts are rarely near-duplicates and would exceed SQLite's bound-argument limit
+    private static final int MAX_FUZZY_LENGTH = 200;
+    private static final int MAX_FUZZY_CANDIDATES = 20;
+
+    private static Database instance;
+
+    private volatile Runnable changeListener;
+
+    public static class Entry {
+        public final long id;
+        public final String sourceText;
+        public final String targetText;
+        public final String sourceLang;
+        public final String targetLang;
+        public final long createdAt;
+        public final long updatedAt;
+
+        Entry(long id, String sourceText, String targetText, String sourceLang, String targetLang,
+              long createdAt, long updatedAt) {
+            this.id = id;
+            this.sourceText = sourceText;
+            this.targetText = targetText;
+            this.sourceLang = sourceLang;
+            this.targetLang = targetLang;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    public static synchronized Database getInstance(Context context) {
+        if (instance == null) {
+            instance = new Database(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private Database(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE translations ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "source_lang TEXT NOT NULL, "
+                + "target_lang TEXT NOT NULL, "
+                + "source_text TEXT NOT NULL, "
+                + "target_text TEXT NOT NULL, "
+                + "source_length INTEGER NOT NULL, "
+                + "created_at INTEGER NOT NULL, "
+                + "updated_at INTEGER NOT NULL, "
+                + "synced_at INTEGER, "
+                + "UNIQUE (source_lang, target_lang, source_text))");
+        db.execSQL("CREATE INDEX translations_by_updated ON translations (updated_at)");
+        // Posting lists: one row per (language pair, trigram, translation)
+        db.execSQL("CREATE TABLE translation_grams ("
+                + "lang_pair TEXT NOT NULL, "
+                + "gram TEXT NOT NULL, "
+                + "translation_id INTEGER NOT NULL, "
+                + "PRIMARY KEY (lang_pair, gram, translation_id)) WITHOUT ROWID");
+        db.execSQL("CREATE INDEX translation_grams_by_id ON translation_grams (translation_id)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            // Version 2 adds history sync; existing rows have never been synced
+            db.execSQL("ALTER TABLE translations ADD COLUMN synced_at INTEGER");
+            db.execSQL("CREATE INDEX translations_by_updated ON translations (updated_at)");
+        }
+    }
+
+    /** Called after a local translation is stored; runs on the storing thread. */
+    public void setOnChangeListener(Runnable listener) {
+        changeListener = listener;
+    }
+
+    @Override
+    public String lookup(String normalizedText, String sourceLangCode, String targetLangCode) {
+        Entry entry = findExact(normalizedText, sourceLangCode, targetLangCode);
+        return entry != null ? entry.targetText : null;
+    }
+
+    @Override
+    public String lookupSimilar(String normalizedText, String sourceLangCode, String targetLangCode) {
+        Entry entry = findFuzzy(normalizedText, sourceLangCode, targetLangCode);
+        return entry != null ? entry.targetText : null;
+    }
+
+    @Override
+    public void store(String normalizedText, String translatedText, String sourceLangCode, String targetLangCode) {
+        try {
+            put(normalizedText, translatedText, sourceLangCode, targetLangCode, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to store translation", e);
+            return;
+        }
+        Runnable listener = changeListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /** Inserts or updates a translation and returns its row id. */
+    public long put(String sourceText, String targetText, String sourceLang, String targetLang, long timestamp) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues update = new ContentValues();
+            update.put("target_text", targetText);
+            update.put("updated_at", timestamp);
+            int updated = db.update("translations", update,
+                    "source_lang = ? AND target_lang = ? AND source_text = ?",
+                    new String[]{sourceLang, targetLang, sourceText});
+
+            long id;
+            if (updated > 0) {
+                id = findId(db, sourceText, sourceLang, targetLang);
+            } else {
+                ContentValues insert = new ContentValues();
+                insert.put("source_lang", sourceLang);
+                insert.put("target_lang", targetLang);
+                insert.put("source_text", sourceText);
+                insert.put("target_text", targetText);
+                insert.put("source_length", sourceText.length());
+                insert.put("created_at", timestamp);
+                insert.put("updated_at", timestamp);
+                id = db.insertOrThrow("translations", null, insert);
+                indexGrams(db, id, sourceText, langPair(sourceLang, targetLang));
+            }
+            db.setTransactionSuccessful();
+            return id;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Up to {@code limit} entries changed at or after {@code since} that the server has not
+     * seen yet, oldest first. The range scan on {@code updated_at} keeps this proportional to
+     * recent changes rather than to the size of the history.
+     */
+    public List<Entry> getUpdatedSince(long since, int limit) {
+        List<Entry> entries = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT id, source_text, target_text, source_lang, target_lang, created_at, updated_at "
+                        + "FROM translations WHERE updated_at >= ? "
+                        + "AND (synced_at IS NULL OR synced_at < updated_at) "
+                        + "ORDER BY updated_at, id LIMIT " + limit,
+                new String[]{Long.toString(since)})) {
+            while (cursor.moveToNext()) {
+                entries.add(readEntry(cursor));
+            }
+        }
+        return entries;
+    }
+
+    /** Records that the server holds these entries, unless they changed again since they were read. */
+    public void markSynced(List<Entry> entries) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            SQLiteStatement update = db.compileStatement(
+                    "UPDATE translations SET synced_at = updated_at WHERE id = ? AND updated_at = ?");
+            try {
+                for (Entry entry : entries) {
+                    update.bindLong(1, entry.id);
+                    update.bindLong(2, entry.updatedAt);
+                    update.executeUpdateDelete();
+                    update.clearBindings();
+                }
+            } finally {
+                update.close();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Stores a translation pulled from the server if it is newer than the local copy. The row
+     * is marked synced so it is not pushed straight back. Returns whether anything changed.
+     */
+    public boolean putRemote(String sourceText, String targetText, String sourceLang, String targetLang,
+                             long createdAt, long updatedAt) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues update = new ContentValues();
+            update.put("target_text", targetText);
+            update.put("updated_at", updatedAt);
+            update.put("synced_at", updatedAt);
+            String[] key = {sourceLang, targetLang, sourceText};
+            int updated = db.update("translations", update,
+                    "source_lang = ? AND target_lang = ? AND source_text = ? AND updated_at < " + updatedAt, key);
+            boolean changed = updated > 0;
+            if (!changed && findId(db, sourceText, sourceLang, targetLang) < 0) {
+                ContentValues insert = new ContentValues();
+                insert.put("source_lang", sourceLang);
+                insert.put("target_lang", targetLang);
+                insert.put("source_text", sourceText);
+                insert.put("target_text", targetText);
+                insert.put("source_length", sourceText.length());
+                insert.put("created_at", createdAt);
+                insert.put("updated_at", updatedAt);
+                insert.put("synced_at", updatedAt);
+                long id = db.insertOrThrow("translations", null, insert);
+                indexGrams(db, id, sourceText, langPair(sourceLang, targetLang));
+                changed = true;
+            }
+            db.setTransactionSuccessful();
+            return changed;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public Entry findExact(String sourceText, String sourceLang, String targetLang) {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT id, source_text, target_text, source_lang, target_lang, created_at, updated_at "
+                        + "FROM translations WHERE source_lang = ? AND target_lang = ? AND source_text = ?",
+                new String[]{sourceLang, targetLang, sourceText})) {
+            return cursor.moveToFirst() ? readEntry(cursor) : null;
+        }
+    }
+
+    /**
+     * Closest stored source within {@link TextSimilarity#maxEditsFor} edits. Candidates come
+     * from the trigram index: a string within k edits of an n-gram set shares at least
+     * {@code n - 3k} grams with it, so only rows above that bound are compared. Rows whose
+     * digits differ are never a match, however few edits apart.
+     */
+    public Entry findFuzzy(String sourceText, String sourceLang, String targetLang) {
+        int length = sourceText.length();
+        if (length == 0 || length > MAX_FUZZY_LENGTH) {
+            return null;
+        }
+        int maxEdits = TextSimilarity.maxEditsFor(length);
+        Set<String> grams = TextSimilarity.trigrams(sourceText);
+        int minShared = Math.max(1, grams.size() - 3 * maxEdits);
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT t.id, t.source_text, t.target_text, t.source_lang, t.target_lang, t.created_at, t.updated_at "
+                        + "FROM (SELECT translation_id, COUNT(*) AS shared FROM translation_grams "
+                        + "WHERE lang_pair = ? AND gram IN (");
+        List<String> args = new ArrayList<>(grams.size() + 1);
+        args.add(langPair(sourceLang, targetLang));
+        boolean first = true;
+        for (String gram : grams) {
+            sql.append(first ? "?" : ", ?");
+            args.add(gram);
+            first = false;
+        }
+        // Numbers are inlined: a bound string would compare as TEXT against COUNT(*)
+        sql.append(") GROUP BY translation_id HAVING shared >= ").append(minShared).append(") g ")
+                .append("JOIN translations t ON t.id = g.translation_id ")
+                .append("WHERE t.source_length BETWEEN ").append(length - maxEdits)
+                .append(" AND ").append(length + maxEdits)
+                .append(" ORDER BY g.shared DESC LIMIT ").append(MAX_FUZZY_CANDIDATES);
+
+        Entry best = null;
+        int bestDistance = maxEdits + 1;
+        try (Cursor cursor = getReadableDatabase().rawQuery(sql.toString(), args.toArray(new String[0]))) {
+            while (cursor.moveToNext()) {
+                String candidate = cursor.getString(1);
+                if (!TextSimilarity.sameDigits(sourceText, candidate)) {
+                    continue;
+                }
+                int distance = TextSimilarity.boundedEditDistance(sourceText, candidate, bestDistance - 1);
+                if (distance < bestDistance) {
+                    best = readEntry(cursor);
+                    bestDistance = distance;
+                    if (distance == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long findId(SQLiteDatabase db, String sourceText, String sourceLang, String targetLang) {
+        try (Cursor cursor = db.rawQuery(
+                "SELECT id FROM translations WHERE source_lang = ? AND target_lang = ? AND source_text = ?",
+                new String[]{sourceLang, targetLang, sourceText})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        }
+    }
+
+    private static void indexGrams(SQLiteDatabase db, long id, String sourceText, String langPair) {
+        if (sourceText.length() > MAX_FUZZY_LENGTH) {
+            return;
+        }
+        SQLiteStatement insert = db.compileStatement(
+                "INSERT OR IGNORE INTO translation_grams (lang_pair, gram, translation_id) VALUES (?, ?, ?)");
+        try {
+            for (String gram : TextSimilarity.trigrams(sourceText)) {
+                insert.bindString(1, langPair);
+                insert.bindString(2, gram);
+                insert.bindLong(3, id);
+                insert.executeInsert();
+                insert.clearBindings();
+            }
+        } finally {
+            insert.close();
+        }
+    }
+
+    private static Entry readEntry(Cursor cursor) {
+        return new Entry(cursor.getLong(0), cursor.getString(1), cursor.getString(2), cursor.getString(3),
+                cursor.getString(4), cursor.getLong(5), cursor.getLong(6));
+    }
+
+    private static String langPair(String sourceLang, String targetLang) {
+        return sourceLang + '|' + targetLang;
+    }
 }
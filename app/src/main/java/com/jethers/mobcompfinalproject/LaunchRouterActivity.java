@@ -0,0 +1,57 @@
+package com.jethers.mobcompfinalproject;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.util.Log;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthInvalidUserException;
+import com.google.firebase.auth.FirebaseUser;
+
+/**
+ * Launcher entry point with no UI. FirebaseAuth keeps the signed-in user on disk, so a
+ * cached session goes straight to the menu, and the account is re-validated in the
+ * background. Only launches without a session show the login form.
+ */
+public class LaunchRouterActivity extends Activity {
+    private static final String TAG = "LaunchRouterActivity";
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        // Reads the persisted user; no network round trip
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        Intent intent;
+        if (user != null) {
+            LaunchTimer.onRouted(LaunchTimer.PATH_SESSION);
+            intent = new Intent(this, MenuActivity.class);
+            refreshSession(user, getApplicationContext());
+        } else {
+            LaunchTimer.onRouted(LaunchTimer.PATH_LOGIN);
+            intent = new Intent(this, LoginActivity.class);
+        }
+        startActivity(intent);
+        finish();
+    }
+
+    /**
+     * Reloads the user, which also refreshes an expired ID token. Only a disabled or deleted
+     * account ends the session; being offline leaves the cached session in place.
+     */
+    private static void refreshSession(FirebaseUser user, Context appContext) {
+        user.reload().addOnFailureListener(e -> {
+            if (!(e instanceof FirebaseAuthInvalidUserException)) {
+                Log.d(TAG, "Session refresh failed; keeping cached session", e);
+                return;
+            }
+            Log.w(TAG, "Cached session is no longer valid", e);
+            FirebaseAuth.getInstance().signOut();
+            Intent login = new Intent(appContext, LoginActivity.class);
+            login.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+            appContext.startActivity(login);
+        });
+    }
+}
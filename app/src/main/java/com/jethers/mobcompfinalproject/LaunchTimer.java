@@ -0,0 +1,58 @@
+package com.jethers.mobcompfinalproject;
+
+import android.app.Activity;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Cold-start time-to-interactive for each launch path: from process start to the first
+ * frame of the first screen the user can act on. That is the menu when a signed-in session
+ * was cached, otherwise the login form. Reported once per process to logcat and through
+ * {@link Activity#reportFullyDrawn()}.
+ */
+final class LaunchTimer {
+    private static final String TAG = "LaunchTimer";
+
+    static final String PATH_SESSION = "session";
+    static final String PATH_LOGIN = "login";
+
+    private static String path;
+    private static long routedAt;
+    private static boolean reported;
+
+    private LaunchTimer() {
+    }
+
+    /** Called by {@link LaunchRouterActivity} once it has picked the first screen. */
+    static void onRouted(String launchPath) {
+        path = launchPath;
+        routedAt = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Call from the destination's {@code onCreate} after {@code setContentView}. Does nothing
+     * unless this screen is where the current launch was routed.
+     */
+    static void reportWhenDrawn(Activity activity, String launchPath) {
+        if (reported || !launchPath.equals(path)) {
+            return;
+        }
+        reported = true;
+        View content = activity.findViewById(android.R.id.content);
+        content.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                content.getViewTreeObserver().removeOnPreDrawListener(this);
+                long now = SystemClock.elapsedRealtime();
+                Log.i(TAG, "Time to interactive (" + launchPath + "): "
+                        + (now - Process.getStartElapsedRealtime()) + " ms since process start, "
+                        + (now - routedAt) + " ms after routing");
+                activity.reportFullyDrawn();
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,264 @@
+package com.jethers.mobcompfinalproject;
+
+import android.Manifest;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.text.method.ScrollingMovementMethod;
+import android.util.Log;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.Preview;
+import androidx.camera.lifecycle.ProcessCameraProvider;
+import androidx.camera.view.PreviewView;
+import androidx.core.content.ContextCompat;
+
+import com.google.android.material.button.MaterialButton;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.mlkit.vision.text.Text;
+import com.google.mlkit.vision.text.TextRecognizer;
+import com.jethers.mobcompfinalproject.ocr.LiveTextAnalyzer;
+import com.jethers.mobcompfinalproject.ocr.OcrEngines;
+import com.jethers.mobcompfinalproject.ocr.TextBlockTracker;
+import com.jethers.mobcompfinalproject.translation.TranslationHandle;
+import com.jethers.mobcompfinalproject.translation.TranslationService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Continuous text detection on the camera preview. Frames go straight from CameraX to ML Kit
+ * with no capture, and the text on screen when the user taps "Use This Text" is returned to
+ * the caller. When languages are passed in, blocks are translated as they settle; a
+ * {@link TextBlockTracker} makes sure a block is only sent again when its text changes.
+ * Live translation needs a fixed source language; with "Auto-detect" only the text is shown.
+ */
+public class LiveOcrActivity extends AppCompatActivity implements LiveTextAnalyzer.Listener {
+    private static final String TAG = "LiveOcrActivity";
+
+    public static final String EXTRA_TEXT = "com.jethers.mobcompfinalproject.extra.LIVE_TEXT";
+    public static final String EXTRA_BLOCKS = "com.jethers.mobcompfinalproject.extra.LIVE_BLOCKS";
+    public static final String EXTRA_SOURCE_LANGUAGE = "com.jethers.mobcompfinalproject.extra.SOURCE_LANGUAGE";
+    public static final String EXTRA_TARGET_LANGUAGE = "com.jethers.mobcompfinalproject.extra.TARGET_LANGUAGE";
+
+    private PreviewView previewView;
+    private TextView liveText;
+    private TextView liveTranslation;
+    private MaterialButton useTextButton;
+
+    private TextRecognizer textRecognizer;
+    private ExecutorService analysisExecutor;
+    private LiveTextAnalyzer analyzer;
+    private Text latestText;
+
+    private final TextBlockTracker blockTracker = new TextBlockTracker();
+    private final Map<Long, TranslationHandle> pendingTranslations = new HashMap<>();
+    private List<TextBlockTracker.Block> visibleBlocks = new ArrayList<>();
+    private String sourceLanguage;
+    private String targetLanguage;
+    // ML Kit may still deliver a frame that was in the recognizer when the activity went away
+    private boolean destroyed;
+
+    private ActivityResultLauncher<String> requestPermissionLauncher;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_live_ocr);
+
+        previewView = findViewById(R.id.previewView);
+        liveText = findViewById(R.id.liveText);
+        liveTranslation = findViewById(R.id.liveTranslation);
+        useTextButton = findViewById(R.id.useTextButton);
+        liveText.setMovementMethod(new ScrollingMovementMethod());
+        liveTranslation.setMovementMethod(new ScrollingMovementMethod());
+
+        sourceLanguage = getIntent().getStringExtra(EXTRA_SOURCE_LANGUAGE);
+        targetLanguage = getIntent().getStringExtra(EXTRA_TARGET_LANGUAGE);
+        if (sourceLanguage == null && targetLanguage != null) {
+            liveTranslation.setHint(R.string.live_translation_needs_source);
+        }
+
+        textRecognizer = OcrEngines.getTextRecognizer();
+        analysisExecutor = Executors.newSingleThreadExecutor();
+        analyzer = new LiveTextAnalyzer(textRecognizer, this);
+
+        useTextButton.setOnClickListener(v -> returnText());
+
+        requestPermissionLauncher = registerForActivityResult(
+            new ActivityResultContracts.RequestPermission(),
+            isGranted -> {
+                if (isGranted) {
+                    startCamera();
+                } else {
+                    Toast.makeText(this, R.string.error_camera_permission, Toast.LENGTH_SHORT).show();
+                    finish();
+                }
+            }
+        );
+
+        if (ContextCompat.checkSelfPermission(this, Manifest.permission.CAMERA)
+                == PackageManager.PERMISSION_GRANTED) {
+            startCamera();
+        } else {
+            requestPermissionLauncher.launch(Manifest.permission.CAMERA);
+        }
+    }
+
+    private void startCamera() {
+        ListenableFuture<ProcessCameraProvider> providerFuture = ProcessCameraProvider.getInstance(this);
+        providerFuture.addListener(() -> {
+            try {
+                bindUseCases(providerFuture.get());
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to start camera", e);
+                Toast.makeText(this, R.string.error_extract_text, Toast.LENGTH_SHORT).show();
+                finish();
+            }
+        }, ContextCompat.getMainExecutor(this));
+    }
+
+    private void bindUseCases(ProcessCameraProvider cameraProvider) {
+        Preview preview = new Preview.Builder().build();
+        preview.setSurfaceProvider(previewView.getSurfaceProvider());
+
+        // Only the newest frame is kept while the recognizer is busy; older ones are dropped
+        ImageAnalysis analysis = new ImageAnalysis.Builder()
+                .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
+                .build();
+        analysis.setAnalyzer(analysisExecutor, analyzer);
+
+        cameraProvider.unbindAll();
+        cameraProvider.bindToLifecycle(this, CameraSelector.DEFAULT_BACK_CAMERA, preview, analysis);
+    }
+
+    @Override
+    public void onTextDetected(Text text) {
+        if (destroyed || text.getText().isEmpty()) {
+            return;
+        }
+        latestText = text;
+        liveText.setText(text.getText());
+        useTextButton.setEnabled(true);
+
+        if (sourceLanguage != null && targetLanguage != null) {
+            translateChangedBlocks(text);
+        }
+    }
+
+    private void translateChangedBlocks(Text text) {
+        List<TextBlockTracker.Observation> observations = new ArrayList<>();
+        for (Text.TextBlock block : text.getTextBlocks()) {
+            Rect box = block.getBoundingBox();
+            observations.add(box != null
+                    ? new TextBlockTracker.Observation(block.getText(), box.left, box.top, box.right, box.bottom)
+                    : new TextBlockTracker.Observation(block.getText(), 0, 0, 0, 0));
+        }
+        TextBlockTracker.Diff diff = blockTracker.update(observations);
+        visibleBlocks = diff.visible;
+
+        for (TextBlockTracker.Block block : diff.stale) {
+            TranslationHandle handle = pendingTranslations.remove(block.id);
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+        // Unchanged blocks keep their translation; only new or edited ones go to the service
+        for (TextBlockTracker.Block block : diff.toTranslate) {
+            requestTranslation(block);
+        }
+        showTranslations();
+    }
+
+    private void requestTranslation(TextBlockTracker.Block block) {
+        String sourceText = block.getText();
+        blockTracker.markRequested(block);
+        TranslationHandle handle = TranslationService.translateRecognizedText(sourceText, sourceLanguage, targetLanguage,
+                new TranslationService.TranslationCallback() {
+                    @Override
+                    public void onTranslationComplete(String translatedText) {
+                        if (destroyed) {
+                            return;
+                        }
+                        pendingTranslations.remove(block.id);
+                        if (blockTracker.setTranslation(block, sourceText, translatedText)) {
+                            showTranslations();
+                        }
+                    }
+
+                    @Override
+                    public void onTranslationError(Exception e) {
+                        if (destroyed) {
+                            return;
+                        }
+                        pendingTranslations.remove(block.id);
+                        blockTracker.clearRequest(block);
+                        Log.w(TAG, "Block translation failed: " + e.getMessage());
+                    }
+                });
+        pendingTranslations.put(block.id, handle);
+    }
+
+    private void showTranslations() {
+        StringBuilder translated = new StringBuilder();
+        for (TextBlockTracker.Block block : visibleBlocks) {
+            String translation = block.getTranslation();
+            if (translation == null) {
+                continue;
+            }
+            if (translated.length() > 0) {
+                translated.append('\n');
+            }
+            translated.append(translation);
+        }
+        liveTranslation.setText(translated);
+    }
+
+    @Override
+    public void onRecognitionError(Exception e) {
+        if (destroyed) {
+            return;
+        }
+        // A single failed frame is not worth interrupting the preview for
+        Log.d(TAG, "Frame recognition failed: " + e.getMessage());
+    }
+
+    private void returnText() {
+        if (latestText == null) {
+            return;
+        }
+        ArrayList<String> blocks = new ArrayList<>();
+        for (Text.TextBlock block : latestText.getTextBlocks()) {
+            blocks.add(block.getText());
+        }
+        Intent result = new Intent()
+                .putExtra(EXTRA_TEXT, latestText.getText())
+                .putStringArrayListExtra(EXTRA_BLOCKS, blocks);
+        setResult(RESULT_OK, result);
+        finish();
+    }
+
+    @Override
+    protected void onDestroy() {
+        destroyed = true;
+        Log.d(TAG, "Live OCR: average latency " + analyzer.getThrottler().getAverageLatencyMs()
+                + " ms, skipped " + analyzer.getThrottler().getSkippedFrames() + " frames");
+        for (TranslationHandle handle : pendingTranslations.values()) {
+            handle.cancel();
+        }
+        pendingTranslations.clear();
+        analysisExecutor.shutdown();
+        super.onDestroy();
+    }
+}
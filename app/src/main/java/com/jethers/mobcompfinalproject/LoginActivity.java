@@ -19,6 +19,7 @@ public class LoginActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_login);
+        LaunchTimer.reportWhenDrawn(this, LaunchTimer.PATH_LOGIN);
 
         // Initialize Firebase Auth
         auth = FirebaseAuth.getInstance();
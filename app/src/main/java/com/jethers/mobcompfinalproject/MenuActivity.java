@@ -14,6 +14,7 @@ public class MenuActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_menu);
+        LaunchTimer.reportWhenDrawn(this, LaunchTimer.PATH_SESSION);
 
         // Initialize buttons
         textTranslationButton = findViewById(R.id.textTranslationButton);
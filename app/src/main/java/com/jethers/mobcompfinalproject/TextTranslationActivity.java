@@ -4,12 +4,15 @@ import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
-import android.graphics.ImageDecoder;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
 import android.speech.tts.TextToSpeech;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
+import android.view.View;
+import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
@@ -26,18 +29,19 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.google.android.material.button.MaterialButton;
-import com.google.mlkit.vision.common.InputImage;
-import com.google.mlkit.vision.text.TextRecognition;
-import com.google.mlkit.vision.text.TextRecognizer;
-import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
-import com.jethers.mobcompfinalproject.translation.TranslationService;
+import com.google.android.material.switchmaterial.SwitchMaterial;
+import com.jethers.mobcompfinalproject.speech.TtsManager;
+import com.jethers.mobcompfinalproject.translation.LanguageDetector;
+import com.jethers.mobcompfinalproject.translation.LanguageRegistry;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
-public class TextTranslationActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class TextTranslationActivity extends AppCompatActivity {
     private static final String TAG = "TextTranslationActivity";
     private static final int CAMERA_PERMISSION_CODE = 100;
 
@@ -46,19 +50,25 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
     private TextView translatedText;
     private MaterialButton takePictureButton;
     private MaterialButton uploadImageButton;
+    private MaterialButton liveTextButton;
     private MaterialButton translateButton;
+    private SwitchMaterial liveTranslationSwitch;
     private MaterialButton speakExtractedText;
     private MaterialButton speakTranslatedText;
     private Spinner sourceLanguageSpinner;
     private Spinner targetLanguageSpinner;
     private Button swapLanguagesButton;
+    private ArrayAdapter<String> sourceLanguageAdapter;
+    private ArrayAdapter<String> targetLanguageAdapter;
 
-    private Bitmap currentImageBitmap;
-    private TextRecognizer textRecognizer;
-    private TextToSpeech textToSpeech;
+    // Image, OCR and translation state lives here so it survives rotation
+    private TextTranslationViewModel viewModel;
+    private TtsManager ttsManager;
+    private LanguageDetector.Request pendingSpeechDetection;
 
     private ActivityResultLauncher<Intent> cameraLauncher;
     private ActivityResultLauncher<Intent> galleryLauncher;
+    private ActivityResultLauncher<Intent> liveOcrLauncher;
     private ActivityResultLauncher<String> requestPermissionLauncher;
 
     @Override
@@ -72,7 +82,9 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
         translatedText = findViewById(R.id.translatedText);
         takePictureButton = findViewById(R.id.takePictureButton);
         uploadImageButton = findViewById(R.id.uploadImageButton);
+        liveTextButton = findViewById(R.id.liveTextButton);
         translateButton = findViewById(R.id.translateButton);
+        liveTranslationSwitch = findViewById(R.id.liveTranslationSwitch);
         speakExtractedText = findViewById(R.id.speakExtractedText);
         speakTranslatedText = findViewById(R.id.speakTranslatedText);
         sourceLanguageSpinner = findViewById(R.id.sourceLanguageSpinner);
@@ -83,25 +95,60 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
         extractedText.setMovementMethod(new ScrollingMovementMethod());
         translatedText.setMovementMethod(new ScrollingMovementMethod());
 
-        // Initialize ML Kit text recognizer
-        textRecognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
+        viewModel = new ViewModelProvider(this).get(TextTranslationViewModel.class);
 
-        // Initialize text-to-speech
-        textToSpeech = new TextToSpeech(this, this);
+        // Shared text-to-speech engine
+        ttsManager = TtsManager.getInstance(this);
+        ttsManager.acquire();
 
-        // Set up language spinners
-        ArrayAdapter<String> languageAdapter = new ArrayAdapter<>(
+        // Set up language spinners; only the source side offers "Auto-detect"
+        List<String> sourceLanguages = new ArrayList<>();
+        sourceLanguages.add(LanguageDetector.AUTO_DETECT);
+        sourceLanguages.addAll(LanguageRegistry.getDisplayNames());
+        sourceLanguageAdapter = new ArrayAdapter<>(
             this,
             android.R.layout.simple_spinner_item,
-            TranslationService.getSupportedLanguages()
+            sourceLanguages
         );
-        languageAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-        sourceLanguageSpinner.setAdapter(languageAdapter);
-        targetLanguageSpinner.setAdapter(languageAdapter);
+        sourceLanguageAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        targetLanguageAdapter = new ArrayAdapter<>(
+            this,
+            android.R.layout.simple_spinner_item,
+            LanguageRegistry.getDisplayNames()
+        );
+        targetLanguageAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        sourceLanguageSpinner.setAdapter(sourceLanguageAdapter);
+        targetLanguageSpinner.setAdapter(targetLanguageAdapter);
 
         // Set default selections
-        sourceLanguageSpinner.setSelection(0); // English
+        sourceLanguageSpinner.setSelection(1); // English, after "Auto-detect"
         targetLanguageSpinner.setSelection(1); // Spanish
+        viewModel.setSelectedSourceLanguage(sourceLanguageSpinner.getSelectedItem().toString());
+        // Also fires when the selection is restored after recreation
+        sourceLanguageSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                viewModel.setSelectedSourceLanguage(sourceLanguageAdapter.getItem(position));
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+            }
+        });
+        viewModel.setSelectedTargetLanguage(targetLanguageSpinner.getSelectedItem().toString());
+        targetLanguageSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                viewModel.setSelectedTargetLanguage(targetLanguageAdapter.getItem(position));
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+            }
+        });
+        preloadSpeechLanguages();
+
+        observeViewModel();
 
         // Initialize activity result launchers
         initializeActivityResultLaunchers();
@@ -109,21 +156,40 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
         // Set click listeners
         takePictureButton.setOnClickListener(v -> checkCameraPermission());
         uploadImageButton.setOnClickListener(v -> openGallery());
+        liveTextButton.setOnClickListener(v -> liveOcrLauncher.launch(new Intent(this, LiveOcrActivity.class)
+                .putExtra(LiveOcrActivity.EXTRA_SOURCE_LANGUAGE, viewModel.getKnownSourceLanguage())
+                .putExtra(LiveOcrActivity.EXTRA_TARGET_LANGUAGE, targetLanguageSpinner.getSelectedItem().toString())));
         translateButton.setOnClickListener(v -> translateText());
+        liveTranslationSwitch.setChecked(viewModel.isLiveMode());
+        liveTranslationSwitch.setOnCheckedChangeListener((button, checked) -> viewModel.setLiveMode(checked));
 
         // Set click listeners for speak buttons
-        speakExtractedText.setOnClickListener(v -> speakText(extractedText.getText().toString(), 
-            sourceLanguageSpinner.getSelectedItem().toString()));
+        speakExtractedText.setOnClickListener(v -> {
+            String text = extractedText.getText().toString();
+            if (pendingSpeechDetection != null) {
+                pendingSpeechDetection.cancel();
+            }
+            pendingSpeechDetection = viewModel.resolveSourceLanguage(text, language -> {
+                pendingSpeechDetection = null;
+                speakText(text, language);
+            });
+        });
         speakTranslatedText.setOnClickListener(v -> speakText(translatedText.getText().toString(), 
             targetLanguageSpinner.getSelectedItem().toString()));
 
         // Set click listener for swap languages button
         swapLanguagesButton.setOnClickListener(v -> {
-            int sourcePosition = sourceLanguageSpinner.getSelectedItemPosition();
-            int targetPosition = targetLanguageSpinner.getSelectedItemPosition();
-            
-            sourceLanguageSpinner.setSelection(targetPosition);
-            targetLanguageSpinner.setSelection(sourcePosition);
+            // The spinners have different entries, so swap by name
+            String sourceLanguage = viewModel.getKnownSourceLanguage();
+            if (sourceLanguage == null) {
+                Toast.makeText(this, "Translate first so the source language can be detected",
+                        Toast.LENGTH_SHORT).show();
+                return;
+            }
+            String targetLanguage = targetLanguageSpinner.getSelectedItem().toString();
+
+            sourceLanguageSpinner.setSelection(sourceLanguageAdapter.getPosition(targetLanguage));
+            targetLanguageSpinner.setSelection(targetLanguageAdapter.getPosition(sourceLanguage));
 
             // Swap texts if they exist
             String sourceText = extractedText.getText().toString();
@@ -132,8 +198,39 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
             if (!sourceText.isEmpty() && !targetText.isEmpty() &&
                 !sourceText.equals(getString(R.string.extracted_text_hint)) &&
                 !targetText.equals(getString(R.string.translated_text_hint))) {
-                extractedText.setText(targetText);
-                translatedText.setText(sourceText);
+                viewModel.swapTexts(sourceText, targetText);
+            }
+        });
+    }
+
+    // Views only mirror the view model; a recreated Activity gets the latest values at once
+    private void observeViewModel() {
+        viewModel.getImage().observe(this, imagePreview::setImageBitmap);
+        viewModel.getSourceText().observe(this, text -> {
+            // Edits made here come back through this observer; leave the cursor alone
+            if (!text.equals(extractedText.getText().toString())) {
+                extractedText.setText(text);
+            }
+        });
+        extractedText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                viewModel.onSourceTextEdited(s.toString());
+            }
+        });
+        viewModel.getTranslation().observe(this, translatedText::setText);
+        viewModel.getMessage().observe(this, message -> {
+            if (message != null) {
+                Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+                viewModel.onMessageShown();
             }
         });
     }
@@ -145,9 +242,7 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
                 if (result.getResultCode() == RESULT_OK && result.getData() != null) {
                     Bundle extras = result.getData().getExtras();
                     if (extras != null) {
-                        currentImageBitmap = (Bitmap) extras.get("data");
-                        imagePreview.setImageBitmap(currentImageBitmap);
-                        extractTextFromImage();
+                        viewModel.setCapturedImage((Bitmap) extras.get("data"));
                     }
                 }
             }
@@ -158,7 +253,20 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
                 result -> {
                     if (result.getResultCode() == RESULT_OK && result.getData() != null) {
                         Uri selectedImage = result.getData().getData();
-                        loadImageFromGallery(selectedImage);
+                        viewModel.loadImage(selectedImage);
+                    }
+                }
+        );
+
+        liveOcrLauncher = registerForActivityResult(
+                new ActivityResultContracts.StartActivityForResult(),
+                result -> {
+                    if (result.getResultCode() == RESULT_OK && result.getData() != null) {
+                        String text = result.getData().getStringExtra(LiveOcrActivity.EXTRA_TEXT);
+                        List<String> blocks = result.getData().getStringArrayListExtra(LiveOcrActivity.EXTRA_BLOCKS);
+                        if (text != null) {
+                            viewModel.setRecognizedText(text, blocks);
+                        }
                     }
                 }
         );
@@ -195,46 +303,6 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
         galleryLauncher.launch(galleryIntent);
     }
 
-    private void loadImageFromGallery(Uri selectedImage) {
-        try {
-            if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.P) {
-                ImageDecoder.Source source = ImageDecoder.createSource(getContentResolver(), selectedImage);
-                currentImageBitmap = ImageDecoder.decodeBitmap(source);
-            } else {
-                currentImageBitmap = MediaStore.Images.Media.getBitmap(getContentResolver(), selectedImage);
-            }
-            imagePreview.setImageBitmap(currentImageBitmap);
-            extractTextFromImage();
-        } catch (Exception e) {
-            Toast.makeText(this, "Failed to load image: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-            Log.e(TAG, "Error loading image", e);
-        }
-    }
-
-    private void extractTextFromImage() {
-        if (currentImageBitmap == null) {
-            Log.e(TAG, "No image to extract text from");
-            return;
-        }
-
-        InputImage image = InputImage.fromBitmap(currentImageBitmap, 0);
-        textRecognizer.process(image)
-                .addOnSuccessListener(visionText -> {
-                    String recognizedText = visionText.getText();
-                    Log.d(TAG, "Extracted text: " + recognizedText);
-                    if (recognizedText.isEmpty()) {
-                        extractedText.setText(R.string.error_no_text_found);
-                    } else {
-                        extractedText.setText(recognizedText);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Text recognition failed", e);
-                    extractedText.setText(R.string.error_extract_text);
-                    Toast.makeText(this, R.string.error_extract_text, Toast.LENGTH_SHORT).show();
-                });
-    }
-
     private void translateText() {
         String sourceText = extractedText.getText().toString();
         Log.d(TAG, "Source text for translation: " + sourceText);
@@ -245,98 +313,71 @@ public class TextTranslationActivity extends AppCompatActivity implements TextTo
             return;
         }
 
-        String sourceLanguage = sourceLanguageSpinner.getSelectedItem().toString();
         String targetLanguage = targetLanguageSpinner.getSelectedItem().toString();
-        Log.d(TAG, "Source language: " + sourceLanguage);
-        Log.d(TAG, "Target language: " + targetLanguage);
-        
-        // Show loading state
-        translatedText.setText(R.string.translating);
-        
-        TranslationService.translateText(sourceText, sourceLanguage, targetLanguage, new TranslationService.TranslationCallback() {
-            @Override
-            public void onTranslationComplete(String result) {
-                Log.d(TAG, "Translation successful: " + result);
-                runOnUiThread(() -> {
-                    translatedText.setText(result);
-                });
-            }
 
-            @Override
-            public void onTranslationError(Exception e) {
-                Log.e(TAG, "Translation error", e);
-                runOnUiThread(() -> {
-                    Toast.makeText(TextTranslationActivity.this, 
-                        getString(R.string.error_translation) + ": " + e.getMessage(), 
-                        Toast.LENGTH_SHORT).show();
-                    translatedText.setText("");
-                });
-            }
-        });
+        viewModel.translate(sourceText, targetLanguage);
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            Log.d(TAG, "TextToSpeech initialized successfully");
-        } else {
-            Log.e(TAG, "TextToSpeech initialization failed");
-            Toast.makeText(this, "Text-to-speech failed to initialize", Toast.LENGTH_SHORT).show();
-        }
-    }
-
-    private void speakText(String text, String language) {
+    private void speakText(String text, String languageName) {
         if (text == null || text.isEmpty() || text.equals(getString(R.string.extracted_text_hint)) || 
             text.equals(getString(R.string.translated_text_hint))) {
             Toast.makeText(this, "No text to speak", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        String langCode = TranslationService.getLanguageCode(language);
-        if (langCode == null) {
+        LanguageRegistry.Language language = LanguageRegistry.forName(languageName);
+        if (language == null) {
             Toast.makeText(this, "Language not supported for speech", Toast.LENGTH_SHORT).show();
             return;
         }
+        Locale locale = language.locale;
 
-        Locale locale;
-        switch (langCode) {
-            case "zh":
-                locale = Locale.CHINESE;
-                break;
-            case "ja":
-                locale = Locale.JAPANESE;
-                break;
-            case "ko":
-                locale = Locale.KOREAN;
-                break;
-            case "de":
-                locale = Locale.GERMAN;
-                break;
-            case "fr":
-                locale = Locale.FRENCH;
-                break;
-            case "it":
-                locale = Locale.ITALIAN;
-                break;
-            default:
-                locale = new Locale(langCode);
-        }
+        // The shared engine is usually ready from start-up warm-up; otherwise this waits for it
+        ttsManager.whenReady(new TtsManager.Callback() {
+            @Override
+            public void onReady(TextToSpeech tts) {
+                int result = ttsManager.setLanguage(locale);
+                if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
+                    Toast.makeText(TextTranslationActivity.this, "Language not supported for speech",
+                            Toast.LENGTH_SHORT).show();
+                    return;
+                }
 
-        int result = textToSpeech.setLanguage(locale);
-        if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
-            Toast.makeText(this, "Language not supported for speech", Toast.LENGTH_SHORT).show();
-            return;
-        }
+                ttsManager.speak(text, locale, null);
+            }
+
+            @Override
+            public void onUnavailable() {
+                Toast.makeText(TextTranslationActivity.this, "Text-to-speech failed to initialize",
+                        Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
 
-        textToSpeech.speak(text, TextToSpeech.QUEUE_FLUSH, null, null);
+    // Checks voice availability for the selected languages before the first speak button press
+    private void preloadSpeechLanguages() {
+        LanguageRegistry.Language source = LanguageRegistry.forName(sourceLanguageSpinner.getSelectedItem().toString());
+        LanguageRegistry.Language target = LanguageRegistry.forName(targetLanguageSpinner.getSelectedItem().toString());
+        // The source is not a language while "Auto-detect" is selected
+        if (source != null) {
+            ttsManager.preloadLanguages(source.locale);
+        }
+        if (target != null) {
+            ttsManager.preloadLanguages(target.locale);
+        }
     }
 
     @Override
     protected void onDestroy() {
-        if (textToSpeech != null) {
-            textToSpeech.stop();
-            textToSpeech.shutdown();
+        // OCR and translation belong to the view model and carry on across rotation
+        if (pendingSpeechDetection != null) {
+            pendingSpeechDetection.cancel();
+        }
+        // Speech carries on across rotation; the engine itself outlives this screen
+        if (isFinishing()) {
+            ttsManager.stop();
         }
+        ttsManager.release();
         super.onDestroy();
     }
 }
@@ -0,0 +1,387 @@
+package com.jethers.mobcompfinalproject;
+
+import android.app.Application;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.google.mlkit.vision.common.InputImage;
+import com.google.mlkit.vision.text.Text;
+import com.jethers.mobcompfinalproject.ocr.OcrEngines;
+import com.jethers.mobcompfinalproject.ocr.OcrImageDecoder;
+import com.jethers.mobcompfinalproject.translation.LanguageDetector;
+import com.jethers.mobcompfinalproject.translation.TextSegmenter;
+import com.jethers.mobcompfinalproject.translation.TranslationDebouncer;
+import com.jethers.mobcompfinalproject.translation.TranslationHandle;
+import com.jethers.mobcompfinalproject.translation.TranslationService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * State of {@link TextTranslationActivity} that outlives the Activity across configuration
+ * changes: the picked image, the OCR result and its blocks, the detected source language
+ * and the translation. Work started here keeps running through a rotation and the new
+ * Activity picks up its result from the LiveData instead of starting it again. Everything
+ * in flight is cancelled only when the screen is finished for good.
+ *
+ * <p>In live mode every change to the source text schedules a debounced translation. Each
+ * new request cancels the one before it. Results are tagged with a sequence number, so a
+ * late answer to an older request never replaces a newer one.
+ *
+ * <p>Use from the main thread; every pipeline here calls back on it.
+ */
+public class TextTranslationViewModel extends AndroidViewModel {
+    private static final String TAG = "TextTranslationVM";
+    // Used when "Auto-detect" is selected but the text's language cannot be identified
+    private static final String FALLBACK_SOURCE_LANGUAGE = "English";
+
+    private final MutableLiveData<Bitmap> image = new MutableLiveData<>();
+    private final MutableLiveData<String> sourceText = new MutableLiveData<>();
+    private final MutableLiveData<String> translation = new MutableLiveData<>();
+    private final MutableLiveData<String> message = new MutableLiveData<>();
+
+    private final LanguageDetector languageDetector = LanguageDetector.getInstance();
+    private int imageRotation;
+    private Future<?> pendingDecode;
+    private String recognizedSourceText;
+    private final List<String> recognizedBlocks = new ArrayList<>();
+    private TranslationHandle pendingTranslation;
+    private LanguageDetector.Request pendingDetection;
+    private String selectedSourceLanguage;
+    private String detectedSourceLanguage;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final TranslationDebouncer debouncer = new TranslationDebouncer();
+    private final Runnable liveTranslation = this::translateLive;
+    private boolean liveMode;
+    private String selectedTargetLanguage;
+    // Source text and languages of the last live request, so unchanged input is not resent
+    private String lastLiveRequest;
+    // Incremented per translation request; only the latest one may update the result
+    private long requestSequence;
+
+    public TextTranslationViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    /** Image being translated, for the preview. */
+    public LiveData<Bitmap> getImage() {
+        return image;
+    }
+
+    /** Text to translate: the latest OCR result, or the user's edit of it. */
+    public LiveData<String> getSourceText() {
+        return sourceText;
+    }
+
+    public LiveData<String> getTranslation() {
+        return translation;
+    }
+
+    /** A one-off message for a toast; call {@link #onMessageShown()} once it is shown. */
+    public LiveData<String> getMessage() {
+        return message;
+    }
+
+    public void onMessageShown() {
+        message.setValue(null);
+    }
+
+    /** Keeps edits to the source text so they survive recreation. */
+    public void onSourceTextEdited(String text) {
+        if (!text.equals(sourceText.getValue())) {
+            setSourceText(text);
+        }
+    }
+
+    private void setSourceText(String text) {
+        sourceText.setValue(text);
+        scheduleLiveTranslation();
+    }
+
+    /** A camera thumbnail; recognized right away. */
+    public void setCapturedImage(Bitmap bitmap) {
+        cancelPendingDecode();
+        showImage(bitmap, 0);
+    }
+
+    /** Decodes a picked image off the main thread at a size suited to text recognition. */
+    public void loadImage(Uri uri) {
+        cancelPendingDecode();
+        pendingDecode = OcrImageDecoder.decodeAsync(getApplication().getContentResolver(), uri,
+                new OcrImageDecoder.Callback() {
+                    @Override
+                    public void onDecoded(OcrImageDecoder.DecodedImage decoded) {
+                        pendingDecode = null;
+                        Log.d(TAG, "Decoded " + decoded.sourceWidth + "x" + decoded.sourceHeight + " as "
+                                + decoded.bitmap.getWidth() + "x" + decoded.bitmap.getHeight());
+                        showImage(decoded.bitmap, decoded.rotationDegrees);
+                    }
+
+                    @Override
+                    public void onDecodeError(Exception e) {
+                        pendingDecode = null;
+                        message.setValue("Failed to load image: " + e.getMessage());
+                    }
+                });
+    }
+
+    /** Text recognized elsewhere, e.g. by the live camera screen. */
+    public void setRecognizedText(String text, List<String> blocks) {
+        recognizedSourceText = text;
+        recognizedBlocks.clear();
+        if (blocks != null) {
+            recognizedBlocks.addAll(blocks);
+        }
+        setSourceText(text);
+    }
+
+    private void showImage(Bitmap bitmap, int rotationDegrees) {
+        image.setValue(bitmap);
+        imageRotation = rotationDegrees;
+        extractText(bitmap);
+    }
+
+    private void extractText(Bitmap bitmap) {
+        // ML Kit applies the EXIF rotation itself, so the bitmap is never rotated into a copy
+        InputImage input = InputImage.fromBitmap(bitmap, imageRotation);
+        OcrEngines.getTextRecognizer().process(input)
+                .addOnSuccessListener(visionText -> {
+                    if (bitmap != image.getValue()) {
+                        return;
+                    }
+                    String recognizedText = visionText.getText();
+                    Log.d(TAG, "Extracted text: " + recognizedText);
+                    // Keep the block structure so translation can fan out per block
+                    recognizedSourceText = recognizedText;
+                    recognizedBlocks.clear();
+                    for (Text.TextBlock block : visionText.getTextBlocks()) {
+                        recognizedBlocks.add(block.getText());
+                    }
+                    if (recognizedText.isEmpty()) {
+                        setSourceText(getApplication().getString(R.string.error_no_text_found));
+                    } else {
+                        setSourceText(recognizedText);
+                        prefetchSourceLanguage(recognizedText);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    if (bitmap != image.getValue()) {
+                        return;
+                    }
+                    Log.e(TAG, "Text recognition failed", e);
+                    String error = getApplication().getString(R.string.error_extract_text);
+                    setSourceText(error);
+                    message.setValue(error);
+                });
+    }
+
+    /** The source spinner's selection, which may be {@link LanguageDetector#AUTO_DETECT}. */
+    public void setSelectedSourceLanguage(String language) {
+        if (!language.equals(selectedSourceLanguage)) {
+            selectedSourceLanguage = language;
+            scheduleLiveTranslation();
+        }
+    }
+
+    /** The target spinner's selection, used by live translation. */
+    public void setSelectedTargetLanguage(String language) {
+        if (!language.equals(selectedTargetLanguage)) {
+            selectedTargetLanguage = language;
+            scheduleLiveTranslation();
+        }
+    }
+
+    /** Turns as-you-type translation on or off; turning it on translates the current text. */
+    public void setLiveMode(boolean enabled) {
+        if (liveMode == enabled) {
+            return;
+        }
+        liveMode = enabled;
+        lastLiveRequest = null;
+        if (enabled) {
+            scheduleLiveTranslation();
+        } else {
+            mainHandler.removeCallbacks(liveTranslation);
+        }
+    }
+
+    public boolean isLiveMode() {
+        return liveMode;
+    }
+
+    private void scheduleLiveTranslation() {
+        if (!liveMode) {
+            return;
+        }
+        mainHandler.removeCallbacks(liveTranslation);
+        mainHandler.postDelayed(liveTranslation, debouncer.delayAfterEdit(SystemClock.uptimeMillis()));
+    }
+
+    private void translateLive() {
+        String text = sourceText.getValue();
+        if (text == null || selectedTargetLanguage == null || !isTranslatable(text)) {
+            return;
+        }
+        String request = selectedSourceLanguage + '\n' + selectedTargetLanguage + '\n' + text;
+        if (request.equals(lastLiveRequest)) {
+            return;
+        }
+        lastLiveRequest = request;
+        debouncer.onStarted(SystemClock.uptimeMillis());
+        // The previous translation stays on screen until the new one arrives
+        startTranslation(text, selectedTargetLanguage);
+    }
+
+    // Placeholders written into the source box are not worth a request
+    private boolean isTranslatable(String text) {
+        return !text.trim().isEmpty()
+                && !text.equals(getApplication().getString(R.string.error_no_text_found))
+                && !text.equals(getApplication().getString(R.string.error_extract_text));
+    }
+
+    // Identifies the language now so pressing Translate finds it cached
+    private void prefetchSourceLanguage(String text) {
+        if (pendingDetection != null) {
+            return;
+        }
+        pendingDetection = resolveSourceLanguage(text, language -> {
+            pendingDetection = null;
+            Log.d(TAG, "Detected source language: " + language);
+        });
+    }
+
+    /** Translates {@code text}, replacing any translation still in progress. */
+    public void translate(String text, String targetLanguage) {
+        translation.setValue(getApplication().getString(R.string.translating));
+        startTranslation(text, targetLanguage);
+    }
+
+    private void startTranslation(String text, String targetLanguage) {
+        if (pendingDetection != null) {
+            pendingDetection.cancel();
+        }
+        pendingDetection = resolveSourceLanguage(text, sourceLanguage -> {
+            pendingDetection = null;
+            translate(text, sourceLanguage, targetLanguage);
+        });
+    }
+
+    private void translate(String text, String sourceLanguage, String targetLanguage) {
+        Log.d(TAG, "Source language: " + sourceLanguage);
+        Log.d(TAG, "Target language: " + targetLanguage);
+
+        // Unedited OCR output is split along its text blocks, anything else by sentence
+        boolean recognized = text.equals(recognizedSourceText);
+        List<TextSegmenter.Segment> segments = recognized
+                ? TextSegmenter.fromBlocks(recognizedBlocks)
+                : TextSegmenter.split(text);
+
+        // Start the new request before cancelling the old one so a repeat of the same text keeps
+        // its call; cancelling releases the old HTTP call once nothing else is waiting on it
+        long sequence = ++requestSequence;
+        TranslationHandle previous = pendingTranslation;
+        TranslationService.SegmentedTranslationCallback callback =
+                new TranslationService.SegmentedTranslationCallback() {
+                    @Override
+                    public void onPartialTranslation(String partialText, int completedSegments, int totalSegments) {
+                        if (sequence != requestSequence) {
+                            return;
+                        }
+                        Log.d(TAG, "Translated " + completedSegments + "/" + totalSegments + " segments");
+                        translation.setValue(partialText);
+                    }
+
+                    @Override
+                    public void onTranslationComplete(String result) {
+                        if (sequence != requestSequence) {
+                            return;
+                        }
+                        Log.d(TAG, "Translation successful: " + result);
+                        translation.setValue(result);
+                    }
+
+                    @Override
+                    public void onTranslationError(Exception e) {
+                        if (sequence != requestSequence) {
+                            return;
+                        }
+                        Log.e(TAG, "Translation error", e);
+                        // Let live mode retry the same text on its next edit
+                        lastLiveRequest = null;
+                        message.setValue(getApplication().getString(R.string.error_translation) + ": " + e.getMessage());
+                        translation.setValue("");
+                    }
+                };
+        // Only OCR output may reuse the translation of a near-identical text
+        pendingTranslation = recognized
+                ? TranslationService.translateRecognizedSegments(segments, sourceLanguage, targetLanguage, callback)
+                : TranslationService.translateSegments(segments, sourceLanguage, targetLanguage, callback);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /** Puts the translation in the source box and the source text in the translation box. */
+    public void swapTexts(String source, String translated) {
+        translation.setValue(source);
+        setSourceText(translated);
+    }
+
+    /**
+     * Passes the selected source language to {@code callback}, or with "Auto-detect" selected
+     * the language identified for {@code text}. Once the model is warm, detection is bounded by
+     * its latency budget and falls back to {@link #FALLBACK_SOURCE_LANGUAGE}.
+     *
+     * @return the detection in progress, for the caller to cancel, or null if already answered
+     */
+    public LanguageDetector.Request resolveSourceLanguage(String text, LanguageDetector.Callback callback) {
+        if (!LanguageDetector.AUTO_DETECT.equals(selectedSourceLanguage)) {
+            callback.onLanguageDetected(selectedSourceLanguage);
+            return null;
+        }
+        LanguageDetector.Request request = languageDetector.detect(text, detected -> {
+            String language = detected != null ? detected : FALLBACK_SOURCE_LANGUAGE;
+            if (detected == null) {
+                Log.d(TAG, "Source language not detected, using " + FALLBACK_SOURCE_LANGUAGE);
+            }
+            detectedSourceLanguage = language;
+            callback.onLanguageDetected(language);
+        });
+        return request.isFinished() ? null : request;
+    }
+
+    /** The selected source language, or the last detected one; null if nothing was detected yet. */
+    public String getKnownSourceLanguage() {
+        return LanguageDetector.AUTO_DETECT.equals(selectedSourceLanguage) ? detectedSourceLanguage : selectedSourceLanguage;
+    }
+
+    private void cancelPendingDecode() {
+        if (pendingDecode != null) {
+            pendingDecode.cancel(true);
+            pendingDecode = null;
+        }
+    }
+
+    @Override
+    protected void onCleared() {
+        mainHandler.removeCallbacks(liveTranslation);
+        cancelPendingDecode();
+        if (pendingDetection != null) {
+            pendingDetection.cancel();
+        }
+        if (pendingTranslation != null) {
+            pendingTranslation.cancel();
+        }
+    }
+}
@@ -2,9 +2,19 @@ package com.jethers.mobcompfinalproject;
 
 import android.app.Application;
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.text.TextUtils;
 import androidx.multidex.MultiDex;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.database.FirebaseDatabase;
+import com.jethers.mobcompfinalproject.sync.HistorySync;
+import com.jethers.mobcompfinalproject.translation.TranslationService;
 
 public class TranslatorApp extends Application {
+    // Default ports of the Firebase Local Emulator Suite, see firebase.json
+    private static final int DATABASE_EMULATOR_PORT = 9000;
+    private static final int AUTH_EMULATOR_PORT = 9099;
+
     @Override
     protected void attachBaseContext(Context base) {
         super.attachBaseContext(base);
@@ -14,5 +24,31 @@ public class TranslatorApp extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
+        configureFirebase();
+        TranslationService.init(this);
+        TranslationService.setTranslationMemory(Database.getInstance(this));
+        HistorySync.start(this);
+        AppWarmup.start(this);
+    }
+
+    // Both settings only take effect before the first database call, so this runs first
+    private void configureFirebase() {
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        database.setPersistenceEnabled(true);
+        // Debug builds built with -PfirebaseEmulatorHost=10.0.2.2 talk to the local emulators
+        String emulatorHost = BuildConfig.FIREBASE_EMULATOR_HOST;
+        if (!TextUtils.isEmpty(emulatorHost)) {
+            database.useEmulator(emulatorHost, DATABASE_EMULATOR_PORT);
+            FirebaseAuth.getInstance().useEmulator(emulatorHost, AUTH_EMULATOR_PORT);
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // Debug builds dump translation metrics to logcat whenever the app is backgrounded
+        if (level == TRIM_MEMORY_UI_HIDDEN && (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            TranslationService.logMetrics();
+        }
     }
 }
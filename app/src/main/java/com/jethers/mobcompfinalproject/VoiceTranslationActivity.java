@@ -21,16 +21,21 @@ import androidx.core.content.ContextCompat;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.button.MaterialButton;
 import android.content.Intent;
+import com.jethers.mobcompfinalproject.speech.RecognizerLanguages;
+import com.jethers.mobcompfinalproject.speech.TtsManager;
+import com.jethers.mobcompfinalproject.translation.LanguageRegistry;
+import com.jethers.mobcompfinalproject.translation.TranslationHandle;
+import com.jethers.mobcompfinalproject.translation.StreamingTranslator;
 import com.jethers.mobcompfinalproject.translation.TranslationService;
 import java.util.ArrayList;
 import java.util.Locale;
 
-public class VoiceTranslationActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class VoiceTranslationActivity extends AppCompatActivity {
     private static final String TAG = "VoiceTranslationActivity";
     private static final int PERMISSION_REQUEST_CODE = 123;
     
     private SpeechRecognizer speechRecognizer;
-    private TextToSpeech textToSpeech;
+    private TtsManager ttsManager;
     private FloatingActionButton recordButton;
     private TextView statusText;
     private EditText recognizedText;
@@ -42,6 +47,8 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
     private Spinner targetLanguageSpinner;
     private MaterialButton swapLanguagesButton;
     private boolean hasRecordPermission = false;
+    private TranslationHandle pendingTranslation;
+    private StreamingTranslator streamingTranslator;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -63,14 +70,17 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
         // Check for record audio permission
         checkPermission();
 
-        // Initialize text-to-speech
-        textToSpeech = new TextToSpeech(this, this);
+        // Shared text-to-speech engine
+        ttsManager = TtsManager.getInstance(this);
+        ttsManager.acquire();
+        // Speech started before a rotation is still playing; pick up its progress
+        ttsManager.attachProgressListener(speechProgress);
 
         // Set up language spinners
         ArrayAdapter<String> adapter = new ArrayAdapter<>(
             this,
             android.R.layout.simple_spinner_item,
-            TranslationService.getSupportedLanguages()
+            LanguageRegistry.getDisplayNames()
         );
         adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         
@@ -80,9 +90,12 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
         // Set default selections
         sourceLanguageSpinner.setSelection(0); // English
         targetLanguageSpinner.setSelection(1); // Spanish
+        preloadSpeechLanguages();
 
         // Initialize speech recognizer
         if (SpeechRecognizer.isRecognitionAvailable(this)) {
+            // Asks the recognizer once which languages it supports
+            RecognizerLanguages.probe(this);
             speechRecognizer = SpeechRecognizer.createSpeechRecognizer(this);
             speechRecognizer.setRecognitionListener(new RecognitionListener() {
                 @Override
@@ -94,6 +107,7 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
                 public void onBeginningOfSpeech() {
                     recognizedText.setText("");
                     statusText.setText("Listening...");
+                    startStreamingTranslation();
                 }
 
                 @Override
@@ -144,6 +158,9 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
                             break;
                     }
                     statusText.setText("Error: " + message);
+                    if (streamingTranslator != null) {
+                        streamingTranslator.cancel();
+                    }
                 }
 
                 @Override
@@ -152,11 +169,22 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
                     if (matches != null && !matches.isEmpty()) {
                         String recognizedSpeech = matches.get(0);
                         recognizedText.setText(recognizedSpeech);
+                        if (streamingTranslator != null) {
+                            streamingTranslator.onFinalResult(recognizedSpeech);
+                        }
                     }
                 }
 
                 @Override
-                public void onPartialResults(Bundle partialResults) {}
+                public void onPartialResults(Bundle partialResults) {
+                    ArrayList<String> matches = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+                    if (matches != null && !matches.isEmpty() && !matches.get(0).isEmpty()) {
+                        recognizedText.setText(matches.get(0));
+                        if (streamingTranslator != null) {
+                            streamingTranslator.onPartialResult(matches.get(0));
+                        }
+                    }
+                }
 
                 @Override
                 public void onEvent(int eventType, Bundle params) {}
@@ -226,9 +254,17 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
         intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL,
                 RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
         
-        // Always use English for voice recognition since we're translating from English
-        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, "en-US");
-        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_PREFERENCE, "en-US");
+        // Recognize speech in the selected source language
+        LanguageRegistry.Language source = LanguageRegistry.forName(sourceLanguageSpinner.getSelectedItem().toString());
+        String languageTag = source != null ? source.recognizerTag : "en-US";
+        if (source != null && Boolean.FALSE.equals(RecognizerLanguages.isSupported(languageTag))) {
+            Toast.makeText(this, "Speech recognition may not support " + source.displayName + " on this device",
+                    Toast.LENGTH_SHORT).show();
+        }
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, languageTag);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_PREFERENCE, languageTag);
+        // Partial hypotheses let the translation start while the user is still speaking
+        intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
 
         try {
             speechRecognizer.startListening(intent);
@@ -239,6 +275,33 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
         }
     }
 
+    private void startStreamingTranslation() {
+        if (streamingTranslator != null) {
+            streamingTranslator.cancel();
+        }
+        if (pendingTranslation != null) {
+            pendingTranslation.cancel();
+            pendingTranslation = null;
+        }
+        translatedText.setText("");
+        streamingTranslator = new StreamingTranslator(
+                sourceLanguageSpinner.getSelectedItem().toString(),
+                targetLanguageSpinner.getSelectedItem().toString(),
+                new StreamingTranslator.Listener() {
+                    @Override
+                    public void onStreamingTranslation(String sourceText, String result, boolean isFinal) {
+                        translatedText.setText(isFinal ? result : result + " …");
+                    }
+
+                    @Override
+                    public void onStreamingError(Exception e) {
+                        Toast.makeText(VoiceTranslationActivity.this,
+                                "Translation failed: " + e.getMessage(),
+                                Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
     private void stopListening() {
         if (speechRecognizer != null) {
             speechRecognizer.stopListening();
@@ -275,7 +338,9 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
         // Show a loading message
         translatedText.setText("Translating...");
 
-        TranslationService.translateText(textToTranslate, sourceLanguage, targetLanguage,
+        // Start the new request before cancelling the old one so a repeat of the same text keeps its call
+        TranslationHandle previous = pendingTranslation;
+        pendingTranslation = TranslationService.translateText(textToTranslate, sourceLanguage, targetLanguage,
                 new TranslationService.TranslationCallback() {
                     @Override
                     public void onTranslationComplete(String result) {
@@ -290,6 +355,9 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
                                 Toast.LENGTH_SHORT).show();
                     }
                 });
+        if (previous != null) {
+            previous.cancel();
+        }
     }
 
     private void speakRecognizedText() {
@@ -298,45 +366,7 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
             Toast.makeText(this, "No text to speak", Toast.LENGTH_SHORT).show();
             return;
         }
-
-        String sourceLanguage = sourceLanguageSpinner.getSelectedItem().toString();
-        String langCode = TranslationService.getLanguageCode(sourceLanguage);
-        if (langCode == null) {
-            Toast.makeText(this, "Language not supported for speech", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        Locale locale;
-        switch (langCode) {
-            case "zh":
-                locale = Locale.CHINESE;
-                break;
-            case "ja":
-                locale = Locale.JAPANESE;
-                break;
-            case "ko":
-                locale = Locale.KOREAN;
-                break;
-            case "de":
-                locale = Locale.GERMAN;
-                break;
-            case "fr":
-                locale = Locale.FRENCH;
-                break;
-            case "it":
-                locale = Locale.ITALIAN;
-                break;
-            default:
-                locale = new Locale(langCode);
-        }
-
-        int result = textToSpeech.setLanguage(locale);
-        if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
-            Toast.makeText(this, "Language not supported for speech", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        textToSpeech.speak(text, TextToSpeech.QUEUE_FLUSH, null, null);
+        speakText(text, sourceLanguageSpinner.getSelectedItem().toString());
     }
 
     private void speakTranslatedText() {
@@ -345,66 +375,84 @@ public class VoiceTranslationActivity extends AppCompatActivity implements TextT
             Toast.makeText(this, "No text to speak", Toast.LENGTH_SHORT).show();
             return;
         }
+        speakText(text, targetLanguageSpinner.getSelectedItem().toString());
+    }
 
-        String targetLanguage = targetLanguageSpinner.getSelectedItem().toString();
-        String langCode = TranslationService.getLanguageCode(targetLanguage);
-        if (langCode == null) {
+    private void speakText(String text, String languageName) {
+        LanguageRegistry.Language language = LanguageRegistry.forName(languageName);
+        if (language == null) {
             Toast.makeText(this, "Language not supported for speech", Toast.LENGTH_SHORT).show();
             return;
         }
+        Locale locale = language.locale;
+
+        // The shared engine is usually ready from start-up warm-up; otherwise this waits for it
+        ttsManager.whenReady(new TtsManager.Callback() {
+            @Override
+            public void onReady(TextToSpeech tts) {
+                int result = ttsManager.setLanguage(locale);
+                if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
+                    Toast.makeText(VoiceTranslationActivity.this, "Language not supported for speech",
+                            Toast.LENGTH_SHORT).show();
+                    return;
+                }
 
-        Locale locale;
-        switch (langCode) {
-            case "zh":
-                locale = Locale.CHINESE;
-                break;
-            case "ja":
-                locale = Locale.JAPANESE;
-                break;
-            case "ko":
-                locale = Locale.KOREAN;
-                break;
-            case "de":
-                locale = Locale.GERMAN;
-                break;
-            case "fr":
-                locale = Locale.FRENCH;
-                break;
-            case "it":
-                locale = Locale.ITALIAN;
-                break;
-            default:
-                locale = new Locale(langCode);
-        }
+                ttsManager.speak(text, locale, speechProgress);
+            }
 
-        int result = textToSpeech.setLanguage(locale);
-        if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
-            Toast.makeText(this, "Language not supported for speech", Toast.LENGTH_SHORT).show();
-            return;
+            @Override
+            public void onUnavailable() {
+                Toast.makeText(VoiceTranslationActivity.this, "Text-to-speech failed to initialize",
+                        Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    // Long text is spoken in chunks; show which one is playing
+    private final TtsManager.ProgressListener speechProgress = new TtsManager.ProgressListener() {
+        @Override
+        public void onChunkStarted(int index, int total) {
+            statusText.setText(total > 1 ? "Speaking (" + (index + 1) + "/" + total + ")..." : "Speaking...");
         }
 
-        textToSpeech.speak(text, TextToSpeech.QUEUE_FLUSH, null, null);
-    }
+        @Override
+        public void onDone() {
+            statusText.setText("Press and hold to record");
+        }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            Log.d(TAG, "TextToSpeech initialized successfully");
-        } else {
-            Log.e(TAG, "TextToSpeech initialization failed");
-            Toast.makeText(this, "Text-to-speech failed to initialize", Toast.LENGTH_SHORT).show();
+        @Override
+        public void onError() {
+            statusText.setText("Error: Speech playback failed");
+        }
+    };
+
+    // Checks voice availability for the selected languages before the first speak button press
+    private void preloadSpeechLanguages() {
+        LanguageRegistry.Language source = LanguageRegistry.forName(sourceLanguageSpinner.getSelectedItem().toString());
+        LanguageRegistry.Language target = LanguageRegistry.forName(targetLanguageSpinner.getSelectedItem().toString());
+        if (source != null && target != null) {
+            ttsManager.preloadLanguages(source.locale, target.locale);
         }
     }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        if (pendingTranslation != null) {
+            pendingTranslation.cancel();
+        }
+        if (streamingTranslator != null) {
+            streamingTranslator.cancel();
+        }
         if (speechRecognizer != null) {
             speechRecognizer.destroy();
         }
-        if (textToSpeech != null) {
-            textToSpeech.stop();
-            textToSpeech.shutdown();
+        // Speech carries on across rotation, reported to the next instance; the engine itself
+        // outlives this screen
+        ttsManager.removeProgressListener(speechProgress);
+        if (isFinishing()) {
+            ttsManager.stop();
         }
+        ttsManager.release();
     }
 }
@@ -0,0 +1,63 @@
+package com.jethers.mobcompfinalproject.ocr;
+
+/**
+ * Decides which camera frames are worth recognizing. The gap between processed frames
+ * follows a moving average of recognizer latency, so a slow device spends at most about
+ * half its time in OCR and leaves the rest to the preview and the UI.
+ */
+public final class FrameThrottler {
+    public static final long DEFAULT_MIN_INTERVAL_MS = 100;
+    public static final long DEFAULT_MAX_INTERVAL_MS = 1000;
+
+    // Weight of the newest sample in the latency average
+    private static final double SMOOTHING = 0.2;
+
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private double averageLatencyMs = -1;
+    private long lastStartMs = Long.MIN_VALUE;
+    private boolean busy;
+    private long skipped;
+
+    public FrameThrottler() {
+        this(DEFAULT_MIN_INTERVAL_MS, DEFAULT_MAX_INTERVAL_MS);
+    }
+
+    public FrameThrottler(long minIntervalMs, long maxIntervalMs) {
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = maxIntervalMs;
+    }
+
+    /** True if a frame arriving now should be recognized; the caller must then call {@link #onFinished}. */
+    public synchronized boolean tryStart(long nowMs) {
+        if (busy || (lastStartMs != Long.MIN_VALUE && nowMs - lastStartMs < intervalMs())) {
+            skipped++;
+            return false;
+        }
+        busy = true;
+        lastStartMs = nowMs;
+        return true;
+    }
+
+    /** Records how long the recognizer took for the frame started at the last {@link #tryStart}. */
+    public synchronized void onFinished(long nowMs) {
+        long latency = Math.max(0, nowMs - lastStartMs);
+        averageLatencyMs = averageLatencyMs < 0 ? latency : averageLatencyMs + SMOOTHING * (latency - averageLatencyMs);
+        busy = false;
+    }
+
+    /** Current minimum gap between the starts of two recognized frames. */
+    public synchronized long intervalMs() {
+        // Twice the latency keeps the recognizer busy at most half the time
+        long adaptive = averageLatencyMs < 0 ? minIntervalMs : Math.round(averageLatencyMs * 2);
+        return Math.max(minIntervalMs, Math.min(maxIntervalMs, adaptive));
+    }
+
+    public synchronized long getAverageLatencyMs() {
+        return Math.max(0, Math.round(averageLatencyMs));
+    }
+
+    public synchronized long getSkippedFrames() {
+        return skipped;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jethers.mobcompfinalproject.ocr;
+
+import android.media.Image;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.camera.core.ExperimentalGetImage;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+
+import com.google.mlkit.vision.common.InputImage;
+import com.google.mlkit.vision.text.Text;
+import com.google.mlkit.vision.text.TextRecognizer;
+
+/**
+ * Feeds CameraX analysis frames to ML Kit without copying them. Use with
+ * {@link ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST}: this analyzer holds at most one frame
+ * while the recognizer runs and drops the rest according to {@link FrameThrottler}.
+ */
+public class LiveTextAnalyzer implements ImageAnalysis.Analyzer {
+    private static final String TAG = "LiveTextAnalyzer";
+
+    public interface Listener {
+        /** Called on the main thread with the text of the latest recognized frame. */
+        void onTextDetected(Text text);
+        void onRecognitionError(Exception e);
+    }
+
+    private final TextRecognizer recognizer;
+    private final Listener listener;
+    private final FrameThrottler throttler;
+
+    public LiveTextAnalyzer(TextRecognizer recognizer, Listener listener) {
+        this(recognizer, listener, new FrameThrottler());
+    }
+
+    public LiveTextAnalyzer(TextRecognizer recognizer, Listener listener, FrameThrottler throttler) {
+        this.recognizer = recognizer;
+        this.listener = listener;
+        this.throttler = throttler;
+    }
+
+    public FrameThrottler getThrottler() {
+        return throttler;
+    }
+
+    @Override
+    @ExperimentalGetImage
+    public void analyze(@NonNull ImageProxy imageProxy) {
+        Image mediaImage = imageProxy.getImage();
+        if (mediaImage == null || !throttler.tryStart(SystemClock.elapsedRealtime())) {
+            // Closing returns the buffer to CameraX so the next frame can be delivered
+            imageProxy.close();
+            return;
+        }
+
+        InputImage image = InputImage.fromMediaImage(mediaImage, imageProxy.getImageInfo().getRotationDegrees());
+        recognizer.process(image)
+                .addOnSuccessListener(listener::onTextDetected)
+                .addOnFailureListener(e -> {
+                    Log.w(TAG, "Live recognition failed", e);
+                    listener.onRecognitionError(e);
+                })
+                .addOnCompleteListener(task -> {
+                    throttler.onFinished(SystemClock.elapsedRealtime());
+                    imageProxy.close();
+                });
+    }
+}
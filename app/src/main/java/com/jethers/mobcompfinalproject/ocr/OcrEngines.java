@@ -0,0 +1,45 @@
+package com.jethers.mobcompfinalproject.ocr;
+
+import android.graphics.Bitmap;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.mlkit.vision.common.InputImage;
+import com.google.mlkit.vision.text.TextRecognition;
+import com.google.mlkit.vision.text.TextRecognizer;
+import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
+
+/**
+ * The app's shared ML Kit text recognizer. It lives as long as the process, so screens use
+ * it without closing it and the model only loads once.
+ */
+public final class OcrEngines {
+    private static final String TAG = "OcrEngines";
+
+    private static TextRecognizer textRecognizer;
+
+    private OcrEngines() {
+    }
+
+    public static synchronized TextRecognizer getTextRecognizer() {
+        if (textRecognizer == null) {
+            textRecognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
+        }
+        return textRecognizer;
+    }
+
+    /**
+     * Runs the recognizer once on a blank image so the model is loaded before the first real
+     * photo. The task completes when the model is ready.
+     */
+    public static Task<?> warmUp() {
+        long start = SystemClock.elapsedRealtime();
+        Bitmap blank = Bitmap.createBitmap(32, 32, Bitmap.Config.ARGB_8888);
+        return getTextRecognizer().process(InputImage.fromBitmap(blank, 0))
+                .addOnCompleteListener(task -> {
+                    blank.recycle();
+                    Log.d(TAG, "Text recognizer warmed up in " + (SystemClock.elapsedRealtime() - start) + " ms");
+                });
+    }
+}
@@ -0,0 +1,221 @@
+package com.jethers.mobcompfinalproject.ocr;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.ImageDecoder;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Decodes gallery photos for text recognition off the main thread. Image bounds are read
+ * first and the photo is decoded straight to a size that still gives ML Kit enough pixels
+ * per character, so a 50 MP photo never exists as a full-size bitmap. EXIF orientation is
+ * reported as a rotation for {@code InputImage.fromBitmap} instead of rotating a copy.
+ */
+public final class OcrImageDecoder {
+    private static final String TAG = "OcrImageDecoder";
+
+    // Long edge that keeps body text in a phone photo above ML Kit's ~16 px per character
+    public static final int DEFAULT_TARGET_LONG_EDGE = 2048;
+
+    private static final ExecutorService decodeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ocr-decode");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public interface Callback {
+        void onDecoded(DecodedImage image);
+        void onDecodeError(Exception e);
+    }
+
+    /** A right-sized bitmap and the clockwise rotation that makes it upright. */
+    public static final class DecodedImage {
+        public final Bitmap bitmap;
+        public final int rotationDegrees;
+        public final int sourceWidth;
+        public final int sourceHeight;
+
+        DecodedImage(Bitmap bitmap, int rotationDegrees, int sourceWidth, int sourceHeight) {
+            this.bitmap = bitmap;
+            this.rotationDegrees = rotationDegrees;
+            this.sourceWidth = sourceWidth;
+            this.sourceHeight = sourceHeight;
+        }
+    }
+
+    private OcrImageDecoder() {
+    }
+
+    /** Decodes on a background thread and calls back on the main thread. Cancel the future to drop the result. */
+    public static Future<?> decodeAsync(ContentResolver resolver, Uri uri, Callback callback) {
+        DecodeTask task = new DecodeTask(resolver, uri, callback);
+        decodeExecutor.execute(task);
+        return task;
+    }
+
+    // A decode can finish just before it is cancelled, so cancellation is checked again on
+    // the main thread, where the result is delivered
+    private static final class DecodeTask extends FutureTask<DecodedImage> {
+        private final Uri uri;
+        private final Callback callback;
+        private volatile boolean cancelled;
+
+        DecodeTask(ContentResolver resolver, Uri uri, Callback callback) {
+            super(() -> decode(resolver, uri, DEFAULT_TARGET_LONG_EDGE));
+            this.uri = uri;
+            this.callback = callback;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            cancelled = true;
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        protected void done() {
+            if (!cancelled) {
+                mainHandler.post(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            DecodedImage image;
+            try {
+                image = get();
+            } catch (ExecutionException e) {
+                Log.e(TAG, "Failed to decode " + uri, e.getCause());
+                if (!cancelled) {
+                    Exception error = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    callback.onDecodeError(error);
+                }
+                return;
+            } catch (InterruptedException | RuntimeException e) {
+                return;
+            }
+            if (cancelled) {
+                // Nobody will draw or recognize it
+                image.bitmap.recycle();
+                return;
+            }
+            callback.onDecoded(image);
+        }
+    }
+
+    /** Blocking decode; call on a worker thread. */
+    public static DecodedImage decode(ContentResolver resolver, Uri uri, int targetLongEdge) throws IOException {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            return decodeWithImageDecoder(resolver, uri, targetLongEdge);
+        }
+        return decodeWithBitmapFactory(resolver, uri, targetLongEdge);
+    }
+
+    private static DecodedImage decodeWithImageDecoder(ContentResolver resolver, Uri uri, int targetLongEdge)
+            throws IOException {
+        int[] sourceSize = new int[2];
+        ImageDecoder.Source source = ImageDecoder.createSource(resolver, uri);
+        // The header listener runs after the bounds are known and before any pixels are decoded
+        Bitmap bitmap = ImageDecoder.decodeBitmap(source, (decoder, info, src) -> {
+            int width = info.getSize().getWidth();
+            int height = info.getSize().getHeight();
+            sourceSize[0] = width;
+            sourceSize[1] = height;
+            float scale = scaleFor(width, height, targetLongEdge);
+            if (scale < 1f) {
+                decoder.setTargetSize(Math.max(1, Math.round(width * scale)), Math.max(1, Math.round(height * scale)));
+            }
+            // ML Kit reads pixels on the CPU, which hardware bitmaps would force it to copy
+            decoder.setAllocator(ImageDecoder.ALLOCATOR_SOFTWARE);
+        });
+        // ImageDecoder applies EXIF orientation while decoding
+        return new DecodedImage(bitmap, 0, sourceSize[0], sourceSize[1]);
+    }
+
+    private static DecodedImage decodeWithBitmapFactory(ContentResolver resolver, Uri uri, int targetLongEdge)
+            throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(resolver, uri)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Unsupported image: " + uri);
+        }
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSizeFor(bounds.outWidth, bounds.outHeight, targetLongEdge);
+        Bitmap bitmap;
+        try (InputStream in = open(resolver, uri)) {
+            bitmap = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (bitmap == null) {
+            throw new IOException("Failed to decode image: " + uri);
+        }
+        return new DecodedImage(bitmap, readRotation(resolver, uri), bounds.outWidth, bounds.outHeight);
+    }
+
+    private static int readRotation(ContentResolver resolver, Uri uri) {
+        try (InputStream in = open(resolver, uri)) {
+            int orientation = new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            switch (orientation) {
+                case ExifInterface.ORIENTATION_ROTATE_90:
+                case ExifInterface.ORIENTATION_TRANSPOSE:
+                    return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180:
+                case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                    return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270:
+                case ExifInterface.ORIENTATION_TRANSVERSE:
+                    return 270;
+                default:
+                    return 0;
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "No EXIF orientation for " + uri, e);
+            return 0;
+        }
+    }
+
+    private static InputStream open(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) {
+            throw new IOException("Cannot open " + uri);
+        }
+        return in;
+    }
+
+    /** Factor that brings the long edge down to the target; never upscales. */
+    static float scaleFor(int width, int height, int targetLongEdge) {
+        int longEdge = Math.max(width, height);
+        return longEdge <= targetLongEdge ? 1f : (float) targetLongEdge / longEdge;
+    }
+
+    /**
+     * Largest power-of-two subsample that keeps the long edge at or above the target, so
+     * text is never decoded smaller than requested.
+     */
+    static int sampleSizeFor(int width, int height, int targetLongEdge) {
+        int longEdge = Math.max(width, height);
+        int sampleSize = 1;
+        while (longEdge / (sampleSize * 2) >= targetLongEdge) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+}
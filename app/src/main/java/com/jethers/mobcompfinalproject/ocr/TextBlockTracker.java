@@ -0,0 +1,253 @@
+package com.jethers.mobcompfinalproject.ocr;
+
+import com.jethers.mobcompfinalproject.translation.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Follows recognized text blocks from one OCR result to the next so only blocks whose text
+ * actually changed need translating. A block is matched first by identical normalized text,
+ * then by overlapping bounds; a block that keeps its place but changes text is reported as
+ * changed and loses its translation. Blocks survive a few frames without being seen so
+ * momentary recognition dropouts do not cause retranslation.
+ *
+ * <p>Not thread-safe; drive it from one thread, e.g. the main thread that receives ML Kit results.
+ */
+public final class TextBlockTracker {
+    public static final int DEFAULT_MAX_MISSED_FRAMES = 5;
+    public static final int DEFAULT_MIN_STABLE_FRAMES = 2;
+
+    // Minimum intersection-over-union for two boxes to be the same block with edited text
+    private static final float MIN_OVERLAP = 0.5f;
+
+    /** One block of recognized text with its bounding box, e.g. from a {@code Text.TextBlock}. */
+    public static final class Observation {
+        final String text;
+        final int left;
+        final int top;
+        final int right;
+        final int bottom;
+
+        public Observation(String text, int left, int top, int right, int bottom) {
+            this.text = text;
+            this.left = left;
+            this.top = top;
+            this.right = right;
+            this.bottom = bottom;
+        }
+    }
+
+    /** A block followed across frames. Its id stays the same for as long as it is tracked. */
+    public static final class Block {
+        public final long id;
+        private String text;
+        private String key;
+        private int left;
+        private int top;
+        private int right;
+        private int bottom;
+        private String translation;
+        private boolean requested;
+        private int stableFrames;
+        private int missedFrames;
+
+        Block(long id) {
+            this.id = id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /** Translation of the current text, or null until {@link #setTranslation} is called for it. */
+        public String getTranslation() {
+            return translation;
+        }
+
+        /** Consecutive frames the text has stayed the same. */
+        public int getStableFrames() {
+            return stableFrames;
+        }
+
+        void moveTo(Observation observation) {
+            left = observation.left;
+            top = observation.top;
+            right = observation.right;
+            bottom = observation.bottom;
+        }
+    }
+
+    /** Result of one {@link #update}. */
+    public static final class Diff {
+        /** Blocks in the current frame, in reading order. */
+        public final List<Block> visible;
+        /** Blocks with no translation or pending request whose text has been stable long enough. */
+        public final List<Block> toTranslate;
+        /** Blocks whose requested translation no longer applies because the text changed or the block went away. */
+        public final List<Block> stale;
+        /** Blocks that were dropped after going unseen for too long. */
+        public final List<Block> removed;
+        /** Visible blocks whose text differs from the previous frame, including new ones. */
+        public final int changed;
+
+        Diff(List<Block> visible, List<Block> toTranslate, List<Block> stale, List<Block> removed, int changed) {
+            this.visible = visible;
+            this.toTranslate = toTranslate;
+            this.stale = stale;
+            this.removed = removed;
+            this.changed = changed;
+        }
+    }
+
+    private final int maxMissedFrames;
+    private final int minStableFrames;
+    private final List<Block> blocks = new ArrayList<>();
+    private long nextId = 1;
+
+    public TextBlockTracker() {
+        this(DEFAULT_MAX_MISSED_FRAMES, DEFAULT_MIN_STABLE_FRAMES);
+    }
+
+    /**
+     * @param maxMissedFrames frames a block may go unseen before it is dropped
+     * @param minStableFrames frames a block's text must stay the same before it is offered for
+     *                        translation; 1 for still images
+     */
+    public TextBlockTracker(int maxMissedFrames, int minStableFrames) {
+        this.maxMissedFrames = maxMissedFrames;
+        this.minStableFrames = Math.max(1, minStableFrames);
+    }
+
+    public Diff update(List<Observation> observations) {
+        List<Block> unmatched = new ArrayList<>(blocks);
+        List<Block> visible = new ArrayList<>(observations.size());
+        List<Block> stale = new ArrayList<>();
+        int changed = 0;
+
+        // Identical text first: it is the same block even if the camera moved
+        Block[] matches = new Block[observations.size()];
+        String[] keys = new String[observations.size()];
+        for (int i = 0; i < observations.size(); i++) {
+            keys[i] = TextNormalizer.normalize(observations.get(i).text);
+            matches[i] = takeBestMatch(unmatched, observations.get(i), keys[i], true);
+        }
+        for (int i = 0; i < observations.size(); i++) {
+            Observation observation = observations.get(i);
+            Block block = matches[i];
+            if (block != null) {
+                block.stableFrames++;
+            } else {
+                block = takeBestMatch(unmatched, observation, keys[i], false);
+                if (block == null) {
+                    block = new Block(nextId++);
+                    blocks.add(block);
+                }
+                block.text = observation.text;
+                block.key = keys[i];
+                if (block.requested) {
+                    stale.add(block);
+                }
+                block.translation = null;
+                block.requested = false;
+                block.stableFrames = 1;
+                changed++;
+            }
+            block.moveTo(observation);
+            block.missedFrames = 0;
+            visible.add(block);
+        }
+
+        List<Block> removed = new ArrayList<>();
+        for (Block block : unmatched) {
+            block.missedFrames++;
+            block.stableFrames = 0;
+        }
+        for (Iterator<Block> it = blocks.iterator(); it.hasNext(); ) {
+            Block block = it.next();
+            if (block.missedFrames > maxMissedFrames) {
+                it.remove();
+                removed.add(block);
+                if (block.requested) {
+                    stale.add(block);
+                    block.requested = false;
+                }
+            }
+        }
+
+        List<Block> toTranslate = new ArrayList<>();
+        for (Block block : visible) {
+            if (block.translation == null && !block.requested && block.stableFrames >= minStableFrames
+                    && !block.key.isEmpty()) {
+                toTranslate.add(block);
+            }
+        }
+        return new Diff(Collections.unmodifiableList(visible), toTranslate, stale, removed, changed);
+    }
+
+    /** Notes that a translation of the block's current text is on its way. */
+    public void markRequested(Block block) {
+        block.requested = true;
+    }
+
+    /** Makes the block eligible for translation again, e.g. after the request failed. */
+    public void clearRequest(Block block) {
+        block.requested = false;
+    }
+
+    /**
+     * Records a translation for the block, unless its text has changed since the translation
+     * was requested.
+     */
+    public boolean setTranslation(Block block, String sourceText, String translation) {
+        if (!blocks.contains(block) || !block.text.equals(sourceText)) {
+            return false;
+        }
+        block.translation = translation;
+        block.requested = false;
+        return true;
+    }
+
+    public void clear() {
+        blocks.clear();
+    }
+
+    private static Block takeBestMatch(List<Block> candidates, Observation observation, String key,
+                                       boolean sameText) {
+        Block best = null;
+        float bestOverlap = sameText ? -1f : MIN_OVERLAP;
+        for (Block candidate : candidates) {
+            if (sameText != candidate.key.equals(key)) {
+                continue;
+            }
+            float overlap = overlap(candidate, observation);
+            if (overlap > bestOverlap || (sameText && best == null)) {
+                best = candidate;
+                bestOverlap = overlap;
+            }
+        }
+        if (best != null) {
+            candidates.remove(best);
+        }
+        return best;
+    }
+
+    /** Intersection over union of the two boxes. */
+    static float overlap(Block block, Observation observation) {
+        int width = Math.min(block.right, observation.right) - Math.max(block.left, observation.left);
+        int height = Math.min(block.bottom, observation.bottom) - Math.max(block.top, observation.top);
+        if (width <= 0 || height <= 0) {
+            return 0f;
+        }
+        long intersection = (long) width * height;
+        long union = area(block.left, block.top, block.right, block.bottom)
+                + area(observation.left, observation.top, observation.right, observation.bottom) - intersection;
+        return union <= 0 ? 0f : (float) intersection / union;
+    }
+
+    private static long area(int left, int top, int right, int bottom) {
+        return (long) Math.max(0, right - left) * Math.max(0, bottom - top);
+    }
+}
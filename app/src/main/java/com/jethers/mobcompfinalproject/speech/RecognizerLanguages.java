@@ -0,0 +1,64 @@
+package com.jethers.mobcompfinalproject.speech;
+
+import android.app.Activity;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.speech.RecognizerIntent;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Languages the device's speech recognizer accepts, asked for once per process with
+ * {@link RecognizerIntent#getVoiceDetailsIntent} and remembered. Not every recognizer
+ * answers; until one does, every language is reported as unknown rather than unsupported.
+ *
+ * <p>Use from the main thread only.
+ */
+public final class RecognizerLanguages {
+    private static Set<String> supportedTags;
+    private static boolean probing;
+
+    private RecognizerLanguages() {
+    }
+
+    /** Starts the one-off query; later calls do nothing. */
+    public static void probe(Context context) {
+        if (supportedTags != null || probing) {
+            return;
+        }
+        Intent details = RecognizerIntent.getVoiceDetailsIntent(context);
+        if (details == null) {
+            return;
+        }
+        probing = true;
+        context.getApplicationContext().sendOrderedBroadcast(details, null, new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context receiverContext, Intent intent) {
+                probing = false;
+                Bundle results = getResultExtras(true);
+                List<String> languages = results.getStringArrayList(RecognizerIntent.EXTRA_SUPPORTED_LANGUAGES);
+                if (languages == null) {
+                    return;
+                }
+                Set<String> tags = new HashSet<>();
+                for (String tag : languages) {
+                    tags.add(tag.toLowerCase(Locale.ROOT));
+                }
+                supportedTags = tags;
+            }
+        }, null, Activity.RESULT_OK, null, null);
+    }
+
+    /** {@code TRUE} or {@code FALSE} once the recognizer has answered, otherwise null. */
+    public static Boolean isSupported(String recognizerTag) {
+        if (supportedTags == null) {
+            return null;
+        }
+        return supportedTags.contains(recognizerTag.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,127 @@
+package com.jethers.mobcompfinalproject.speech;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text for queued speech. The first chunk is kept short, a sentence or its first
+ * clause, so audio starts quickly; later sentences are packed into larger chunks that the
+ * engine synthesizes while earlier ones play. No chunk exceeds the engine's input limit.
+ */
+public final class SpeechChunker {
+    // Short enough to synthesize almost immediately
+    public static final int FIRST_CHUNK_TARGET = 120;
+    // Later chunks: long enough to avoid audible gaps between utterances
+    public static final int CHUNK_TARGET = 300;
+
+    private static final String CLAUSE_BREAKS = ",;:—、，；";
+
+    private SpeechChunker() {
+    }
+
+    /** @param maxLength the engine's limit, from {@code TextToSpeech.getMaxSpeechInputLength()} */
+    public static List<String> split(String text, int maxLength, Locale locale) {
+        if (text == null || text.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> pieces = new ArrayList<>();
+        BreakIterator sentences = BreakIterator.getSentenceInstance(locale);
+        sentences.setText(text);
+        int start = sentences.first();
+        for (int end = sentences.next(); end != BreakIterator.DONE; start = end, end = sentences.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                pieces.add(sentence);
+            }
+        }
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder pending = new StringBuilder();
+        for (String sentence : pieces) {
+            int target = Math.min(chunks.isEmpty() ? FIRST_CHUNK_TARGET : CHUNK_TARGET, maxLength);
+            if (chunks.isEmpty() && pending.length() == 0 && sentence.length() > target) {
+                // Start speaking after the first clause of a long opening sentence
+                List<String> clauses = splitLong(sentence, target, maxLength);
+                chunks.add(clauses.get(0));
+                for (int i = 1; i < clauses.size(); i++) {
+                    append(chunks, pending, clauses.get(i), Math.min(CHUNK_TARGET, maxLength), maxLength);
+                }
+                continue;
+            }
+            append(chunks, pending, sentence, target, maxLength);
+            if (chunks.isEmpty() && pending.length() > 0) {
+                // The first sentence goes out on its own
+                chunks.add(pending.toString());
+                pending.setLength(0);
+            }
+        }
+        if (pending.length() > 0) {
+            chunks.add(pending.toString());
+        }
+        return chunks;
+    }
+
+    private static void append(List<String> chunks, StringBuilder pending, String piece, int target, int maxLength) {
+        if (piece.length() > maxLength) {
+            if (pending.length() > 0) {
+                chunks.add(pending.toString());
+                pending.setLength(0);
+            }
+            chunks.addAll(splitLong(piece, maxLength, maxLength));
+            return;
+        }
+        if (pending.length() > 0 && pending.length() + 1 + piece.length() > target) {
+            chunks.add(pending.toString());
+            pending.setLength(0);
+        }
+        if (pending.length() > 0) {
+            pending.append(' ');
+        }
+        pending.append(piece);
+    }
+
+    /**
+     * Cuts a sentence into pieces of at most {@code target} characters, preferring clause
+     * punctuation, then spaces; the hard limit is only hit by text with neither.
+     */
+    static List<String> splitLong(String sentence, int target, int maxLength) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (sentence.length() - start > target) {
+            int limit = Math.min(start + target, sentence.length());
+            int cut = lastBreak(sentence, start, limit, CLAUSE_BREAKS);
+            if (cut < 0) {
+                cut = lastBreak(sentence, start, limit, " ");
+            }
+            if (cut < 0) {
+                cut = Math.min(start + maxLength, sentence.length());
+                if (Character.isHighSurrogate(sentence.charAt(cut - 1))) {
+                    cut--;
+                }
+            }
+            String part = sentence.substring(start, cut).trim();
+            if (!part.isEmpty()) {
+                parts.add(part);
+            }
+            start = cut;
+        }
+        String rest = sentence.substring(start).trim();
+        if (!rest.isEmpty()) {
+            parts.add(rest);
+        }
+        return parts;
+    }
+
+    // Index just past the last break character in [start, limit), or -1
+    private static int lastBreak(String text, int start, int limit, String breaks) {
+        for (int i = limit - 1; i > start; i--) {
+            if (breaks.indexOf(text.charAt(i)) >= 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+}
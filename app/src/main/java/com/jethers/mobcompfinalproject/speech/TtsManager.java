@@ -0,0 +1,346 @@
+package com.jethers.mobcompfinalproject.speech;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.speech.tts.TextToSpeech;
+import android.speech.tts.UtteranceProgressListener;
+import android.speech.tts.Voice;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The app's single {@link TextToSpeech} engine. Binding to the TTS service takes hundreds of
+ * milliseconds, so the engine is created once, ideally during start-up warm-up, and shared.
+ * Screens hold a reference with {@link #acquire()}/{@link #release()}; the engine is only
+ * shut down once no screen has used it for {@link #IDLE_SHUTDOWN_MS}, so rotation and
+ * switching screens never rebind it.
+ *
+ * <p>Language checks are cached per locale, and the voices of the last few languages are
+ * kept so switching between a source and target language is a {@code setVoice} instead of
+ * a full {@code setLanguage} lookup. Text is spoken through {@link #speak} in chunks so
+ * audio starts before long text has been synthesized.
+ *
+ * <p>Use from the main thread only.
+ */
+public final class TtsManager implements TextToSpeech.OnInitListener {
+    private static final String TAG = "TtsManager";
+
+    public static final long IDLE_SHUTDOWN_MS = 60_000;
+    private static final int MAX_CACHED_VOICES = 4;
+
+    private static final int EVENT_START = 0;
+    private static final int EVENT_DONE = 1;
+    private static final int EVENT_ERROR = 2;
+
+    private static TtsManager instance;
+
+    public interface Callback {
+        void onReady(TextToSpeech tts);
+        void onUnavailable();
+    }
+
+    /**
+     * Progress of one {@link #speak} call, reported on the main thread. The manager outlives
+     * screens, so a listener must be removed when its screen is destroyed.
+     */
+    public interface ProgressListener {
+        /** {@code index} is zero-based. */
+        void onChunkStarted(int index, int total);
+        void onDone();
+        void onError();
+    }
+
+    private enum State {
+        IDLE, INITIALIZING, READY, FAILED
+    }
+
+    private final Context appContext;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable shutdownIfUnused = this::shutdownIfUnused;
+    private final List<Callback> waiting = new ArrayList<>();
+    private final Map<Locale, Integer> availability = new HashMap<>();
+    private final Map<Locale, Voice> voices = new LinkedHashMap<Locale, Voice>(MAX_CACHED_VOICES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Locale, Voice> eldest) {
+            return size() > MAX_CACHED_VOICES;
+        }
+    };
+    private TextToSpeech engine;
+    private State state = State.IDLE;
+    private int references;
+    private Locale currentLocale;
+    private int speechSession;
+    private int activeChunks;
+    // Index of the chunk being spoken, or -1 when nothing is
+    private int speakingChunk = -1;
+    private ProgressListener activeListener;
+    private long initStartedAt;
+    private long initMillis = -1;
+
+    public static synchronized TtsManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new TtsManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private TtsManager(Context appContext) {
+        this.appContext = appContext;
+    }
+
+    /** Registers a user of the engine, e.g. from an Activity's onCreate, and starts binding it. */
+    public void acquire() {
+        references++;
+        handler.removeCallbacks(shutdownIfUnused);
+        warmUp();
+    }
+
+    /** Drops a reference taken with {@link #acquire()}. */
+    public void release() {
+        if (references == 0) {
+            return;
+        }
+        references--;
+        if (references == 0) {
+            handler.removeCallbacks(shutdownIfUnused);
+            handler.postDelayed(shutdownIfUnused, IDLE_SHUTDOWN_MS);
+        }
+    }
+
+    /** Starts binding the engine if that has not happened yet. */
+    public void warmUp() {
+        if (state == State.IDLE || state == State.FAILED) {
+            state = State.INITIALIZING;
+            initStartedAt = SystemClock.elapsedRealtime();
+            engine = new TextToSpeech(appContext, this);
+        }
+    }
+
+    /** Runs the callback once the engine is ready, immediately if it already is. */
+    public void whenReady(Callback callback) {
+        if (state == State.READY) {
+            callback.onReady(engine);
+            return;
+        }
+        waiting.add(callback);
+        warmUp();
+    }
+
+    /**
+     * Switches the engine to the locale and returns a {@code TextToSpeech.LANG_*} result.
+     * Unsupported locales are remembered and cached voices are reused. Call only from
+     * {@link Callback#onReady}.
+     */
+    public int setLanguage(Locale locale) {
+        Integer known = availability.get(locale);
+        if (known != null && known < TextToSpeech.LANG_AVAILABLE) {
+            return known;
+        }
+        if (locale.equals(currentLocale) && known != null) {
+            return known;
+        }
+
+        Voice voice = voices.get(locale);
+        if (voice != null && engine.setVoice(voice) == TextToSpeech.SUCCESS) {
+            currentLocale = locale;
+            return known != null ? known : TextToSpeech.LANG_AVAILABLE;
+        }
+
+        int result = engine.setLanguage(locale);
+        availability.put(locale, result);
+        if (result >= TextToSpeech.LANG_AVAILABLE) {
+            currentLocale = locale;
+            Voice loaded = engine.getVoice();
+            if (loaded != null) {
+                voices.put(locale, loaded);
+            }
+        } else {
+            currentLocale = null;
+        }
+        return result;
+    }
+
+    /**
+     * Speaks the text as a series of queued chunks, replacing anything already being said.
+     * Call only from {@link Callback#onReady}, after {@link #setLanguage}.
+     */
+    public void speak(String text, Locale locale, ProgressListener listener) {
+        List<String> chunks = SpeechChunker.split(text, TextToSpeech.getMaxSpeechInputLength(), locale);
+        if (chunks.isEmpty()) {
+            return;
+        }
+        speechSession++;
+        activeChunks = chunks.size();
+        speakingChunk = 0;
+        activeListener = listener;
+        for (int i = 0; i < chunks.size(); i++) {
+            // The first chunk flushes earlier speech; the rest queue behind it and are
+            // synthesized while it plays
+            int queueMode = i == 0 ? TextToSpeech.QUEUE_FLUSH : TextToSpeech.QUEUE_ADD;
+            engine.speak(chunks.get(i), queueMode, null, speechSession + ":" + i);
+        }
+    }
+
+    /** Looks up the locales' availability in advance so the first speak does not have to. */
+    public void preloadLanguages(Locale... locales) {
+        whenReady(new Callback() {
+            @Override
+            public void onReady(TextToSpeech tts) {
+                for (Locale locale : locales) {
+                    if (!availability.containsKey(locale)) {
+                        availability.put(locale, tts.isLanguageAvailable(locale));
+                    }
+                }
+            }
+
+            @Override
+            public void onUnavailable() {
+            }
+        });
+    }
+
+    /**
+     * Reports the speech in progress to {@code listener} from now on, e.g. for a screen
+     * recreated while speaking, starting with the current chunk.
+     *
+     * @return false if nothing is being spoken
+     */
+    public boolean attachProgressListener(ProgressListener listener) {
+        if (speakingChunk < 0) {
+            return false;
+        }
+        activeListener = listener;
+        listener.onChunkStarted(speakingChunk, activeChunks);
+        return true;
+    }
+
+    /** Stops reporting to {@code listener}; the speech itself carries on. */
+    public void removeProgressListener(ProgressListener listener) {
+        if (activeListener == listener) {
+            activeListener = null;
+        }
+    }
+
+    /** Stops any speech in progress. */
+    public void stop() {
+        speakingChunk = -1;
+        activeListener = null;
+        if (state == State.READY) {
+            engine.stop();
+        }
+    }
+
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    /** Time the engine took to initialize, or -1 until it has. */
+    public long getInitMillis() {
+        return initMillis;
+    }
+
+    @Override
+    public void onInit(int status) {
+        initMillis = SystemClock.elapsedRealtime() - initStartedAt;
+        List<Callback> callbacks = new ArrayList<>(waiting);
+        waiting.clear();
+        if (status == TextToSpeech.SUCCESS) {
+            Log.d(TAG, "TextToSpeech initialized in " + initMillis + " ms");
+            state = State.READY;
+            engine.setOnUtteranceProgressListener(new ProgressDispatcher());
+            for (Callback callback : callbacks) {
+                callback.onReady(engine);
+            }
+        } else {
+            Log.e(TAG, "TextToSpeech initialization failed");
+            // The next request binds again
+            releaseEngine(State.FAILED);
+            for (Callback callback : callbacks) {
+                callback.onUnavailable();
+            }
+        }
+    }
+
+    // Utterance callbacks arrive on a binder thread; only the latest speak call is reported
+    private final class ProgressDispatcher extends UtteranceProgressListener {
+        @Override
+        public void onStart(String utteranceId) {
+            dispatch(utteranceId, EVENT_START);
+        }
+
+        @Override
+        public void onDone(String utteranceId) {
+            dispatch(utteranceId, EVENT_DONE);
+        }
+
+        @Override
+        public void onError(String utteranceId) {
+            dispatch(utteranceId, EVENT_ERROR);
+        }
+
+        private void dispatch(String utteranceId, int event) {
+            int separator = utteranceId == null ? -1 : utteranceId.indexOf(':');
+            if (separator < 0) {
+                return;
+            }
+            int session = Integer.parseInt(utteranceId.substring(0, separator));
+            int index = Integer.parseInt(utteranceId.substring(separator + 1));
+            handler.post(() -> onProgress(session, index, event));
+        }
+    }
+
+    private void onProgress(int session, int index, int event) {
+        if (session != speechSession || speakingChunk < 0) {
+            return;
+        }
+        // Progress is tracked without a listener so one attached later starts in the right place
+        ProgressListener listener = activeListener;
+        if (event == EVENT_START) {
+            speakingChunk = index;
+            if (listener != null) {
+                listener.onChunkStarted(index, activeChunks);
+            }
+        } else if (event == EVENT_ERROR || index == activeChunks - 1) {
+            speakingChunk = -1;
+            activeListener = null;
+            if (listener == null) {
+                return;
+            }
+            if (event == EVENT_ERROR) {
+                listener.onError();
+            } else {
+                listener.onDone();
+            }
+        }
+    }
+
+    private void shutdownIfUnused() {
+        if (references == 0 && state == State.READY) {
+            Log.d(TAG, "Shutting down unused TextToSpeech engine");
+            releaseEngine(State.IDLE);
+        }
+    }
+
+    private void releaseEngine(State newState) {
+        state = newState;
+        speakingChunk = -1;
+        activeListener = null;
+        if (engine != null) {
+            engine.stop();
+            engine.shutdown();
+            engine = null;
+        }
+        currentLocale = null;
+        // Voices and missing voice data may differ for the next engine instance
+        voices.clear();
+        availability.clear();
+    }
+}
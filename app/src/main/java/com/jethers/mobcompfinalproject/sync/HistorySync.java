@@ -0,0 +1,241 @@
+package com.jethers.mobcompfinalproject.sync;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
+import com.jethers.mobcompfinalproject.Database;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the signed-in user's translation history in Firebase under {@code History/{uid}}.
+ * Both directions are incremental. Pushes send only rows changed since the last
+ * acknowledged push, batched into one multi-path {@code updateChildren} per
+ * {@link #BATCH_SIZE} entries. Pulls page through entries whose server timestamp is past the
+ * last one seen. The work done is proportional to new entries, not to the history size.
+ *
+ * <p>Firebase's disk persistence must be enabled before {@link #start}; a push made offline
+ * stays queued on disk and is marked synced once the server acknowledges it.
+ */
+public final class HistorySync {
+    private static final String TAG = "HistorySync";
+
+    static final int BATCH_SIZE = 200;
+    // Coalesces the stores of one screen's worth of translations into a single write
+    private static final long PUSH_DELAY_MS = 5_000;
+    // Re-checks rows stamped shortly before the watermark, in case a slower writer committed
+    // them late; rows already pushed are skipped by their synced_at
+    private static final long WATERMARK_OVERLAP_MS = 60_000;
+    private static final long NETWORK_TIMEOUT_MS = 15_000;
+
+    private static final String PREFS_NAME = "history_sync";
+    private static final String PREF_PUSHED_UNTIL = "pushed_until:";
+    private static final String PREF_PULLED_UNTIL = "pulled_until:";
+    private static final String PREF_PULLED_KEY = "pulled_key:";
+
+    private static HistorySync instance;
+
+    private final Database database;
+    private final SharedPreferences prefs;
+    private final FirebaseDatabase firebase = FirebaseDatabase.getInstance();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "history-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicBoolean pushScheduled = new AtomicBoolean();
+    private final Runnable scheduledPush = () -> {
+        pushScheduled.set(false);
+        executor.execute(this::pushChanges);
+    };
+
+    private volatile String uid;
+    // Offline write still waiting for the server; executor thread only
+    private Task<Void> pendingWrite;
+
+    private HistorySync(Context context) {
+        database = Database.getInstance(context);
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /** Starts syncing whenever a user is signed in. Call once from the main thread. */
+    public static synchronized void start(Context context) {
+        if (instance != null) {
+            return;
+        }
+        instance = new HistorySync(context);
+        instance.database.setOnChangeListener(instance::schedulePush);
+        FirebaseAuth.getInstance().addAuthStateListener(auth -> instance.onUserChanged(auth.getCurrentUser()));
+    }
+
+    /** Runs a pull and push now, e.g. after the user signs in or returns to the app. */
+    public static synchronized void syncNow() {
+        if (instance != null) {
+            instance.executor.execute(instance::sync);
+        }
+    }
+
+    private void onUserChanged(FirebaseUser user) {
+        String newUid = user != null ? user.getUid() : null;
+        if (newUid == null ? uid == null : newUid.equals(uid)) {
+            return;
+        }
+        uid = newUid;
+        if (newUid != null) {
+            executor.execute(this::sync);
+        }
+    }
+
+    private void schedulePush() {
+        if (uid != null && pushScheduled.compareAndSet(false, true)) {
+            mainHandler.postDelayed(scheduledPush, PUSH_DELAY_MS);
+        }
+    }
+
+    private void sync() {
+        pullChanges();
+        pushChanges();
+    }
+
+    private void pushChanges() {
+        String user = uid;
+        if (user == null) {
+            return;
+        }
+        if (pendingWrite != null && !pendingWrite.isComplete()) {
+            // Still offline; that batch is queued on disk and goes out on reconnect
+            return;
+        }
+        pendingWrite = null;
+        long since = prefs.getLong(PREF_PUSHED_UNTIL + user, 0) - WATERMARK_OVERLAP_MS;
+        while (true) {
+            List<Database.Entry> entries = database.getUpdatedSince(since, BATCH_SIZE);
+            if (entries.isEmpty()) {
+                return;
+            }
+            HistoryUpdate update = new HistoryUpdate(user, ServerValue.TIMESTAMP);
+            for (Database.Entry entry : entries) {
+                update.add(entry.sourceLang, entry.targetLang, entry.sourceText, entry.targetText,
+                        entry.createdAt, entry.updatedAt);
+            }
+            long maxUpdatedAt = update.getMaxUpdatedAt();
+            Task<Void> write = firebase.getReference().updateChildren(update.toMap());
+            try {
+                Tasks.await(write, NETWORK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                Log.d(TAG, "Offline; " + update.size() + " history entries queued");
+                write.addOnSuccessListener(executor, ignored -> markPushed(user, entries, maxUpdatedAt));
+                pendingWrite = write;
+                return;
+            } catch (ExecutionException e) {
+                Log.w(TAG, "History push rejected", e.getCause());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            markPushed(user, entries, maxUpdatedAt);
+            if (entries.size() < BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private void markPushed(String user, List<Database.Entry> entries, long maxUpdatedAt) {
+        database.markSynced(entries);
+        String key = PREF_PUSHED_UNTIL + user;
+        if (maxUpdatedAt > prefs.getLong(key, 0)) {
+            prefs.edit().putLong(key, maxUpdatedAt).apply();
+        }
+    }
+
+    private void pullChanges() {
+        String user = uid;
+        if (user == null) {
+            return;
+        }
+        long pulledUntil = prefs.getLong(PREF_PULLED_UNTIL + user, 0);
+        String pulledKey = prefs.getString(PREF_PULLED_KEY + user, null);
+        int applied = 0;
+        while (true) {
+            // One batch write gives all its entries the same server timestamp, so pages are
+            // keyed by (syncedAt, key); the start bound is inclusive and the first row repeats
+            Query query = firebase.getReference(HistoryUpdate.historyPath(user))
+                    .orderByChild(HistoryUpdate.FIELD_SYNCED_AT)
+                    .startAt(pulledUntil, pulledKey)
+                    .limitToFirst(BATCH_SIZE);
+            DataSnapshot page;
+            try {
+                page = Tasks.await(query.get(), NETWORK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                Log.d(TAG, "History pull skipped", e);
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            int count = 0;
+            for (DataSnapshot child : page.getChildren()) {
+                count++;
+                Long syncedAt = child.child(HistoryUpdate.FIELD_SYNCED_AT).getValue(Long.class);
+                if (syncedAt == null) {
+                    continue;
+                }
+                if (apply(child)) {
+                    applied++;
+                }
+                pulledUntil = syncedAt;
+                pulledKey = child.getKey();
+            }
+            prefs.edit()
+                    .putLong(PREF_PULLED_UNTIL + user, pulledUntil)
+                    .putString(PREF_PULLED_KEY + user, pulledKey)
+                    .apply();
+            if (count < BATCH_SIZE) {
+                break;
+            }
+        }
+        if (applied > 0) {
+            Log.d(TAG, "Pulled " + applied + " history entries");
+        }
+    }
+
+    private boolean apply(DataSnapshot node) {
+        String sourceLang = node.child(HistoryUpdate.FIELD_SOURCE_LANG).getValue(String.class);
+        String targetLang = node.child(HistoryUpdate.FIELD_TARGET_LANG).getValue(String.class);
+        String sourceText = node.child(HistoryUpdate.FIELD_SOURCE_TEXT).getValue(String.class);
+        String targetText = node.child(HistoryUpdate.FIELD_TARGET_TEXT).getValue(String.class);
+        Long createdAt = node.child(HistoryUpdate.FIELD_CREATED_AT).getValue(Long.class);
+        Long updatedAt = node.child(HistoryUpdate.FIELD_UPDATED_AT).getValue(Long.class);
+        if (sourceLang == null || targetLang == null || sourceText == null || targetText == null
+                || createdAt == null || updatedAt == null) {
+            Log.w(TAG, "Skipping malformed history entry " + node.getKey());
+            return false;
+        }
+        try {
+            return database.putRemote(sourceText, targetText, sourceLang, targetLang, createdAt, updatedAt);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to store pulled history entry", e);
+            return false;
+        }
+    }
+}
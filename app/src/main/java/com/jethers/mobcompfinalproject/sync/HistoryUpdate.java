@@ -0,0 +1,101 @@
+package com.jethers.mobcompfinalproject.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One multi-path write of history entries for a user, built as the map passed to
+ * {@code DatabaseReference.updateChildren}. Every entry lands at
+ * {@code History/{uid}/{key}}, where the key is derived from the language pair and source
+ * text, so the same translation made on two devices ends up in one node. Kept free of
+ * Firebase types; the server-timestamp placeholder is passed in.
+ */
+final class HistoryUpdate {
+    static final String ROOT = "History";
+
+    static final String FIELD_SOURCE_LANG = "sourceLang";
+    static final String FIELD_TARGET_LANG = "targetLang";
+    static final String FIELD_SOURCE_TEXT = "sourceText";
+    static final String FIELD_TARGET_TEXT = "targetText";
+    static final String FIELD_CREATED_AT = "createdAt";
+    static final String FIELD_UPDATED_AT = "updatedAt";
+    /** Server time of the last write; pulls order by this so device clocks don't matter. */
+    static final String FIELD_SYNCED_AT = "syncedAt";
+
+    // 128 bits is plenty for one user's history and keeps keys short
+    private static final int KEY_BYTES = 16;
+
+    private final String uid;
+    private final Object serverTimestamp;
+    private final Map<String, Object> paths = new LinkedHashMap<>();
+    private long maxUpdatedAt = Long.MIN_VALUE;
+
+    /** @param serverTimestamp {@code ServerValue.TIMESTAMP} in the app, any marker in tests */
+    HistoryUpdate(String uid, Object serverTimestamp) {
+        this.uid = uid;
+        this.serverTimestamp = serverTimestamp;
+    }
+
+    /** Path of a user's history node, relative to the database root. */
+    static String historyPath(String uid) {
+        return ROOT + '/' + uid;
+    }
+
+    void add(String sourceLang, String targetLang, String sourceText, String targetText,
+             long createdAt, long updatedAt) {
+        Map<String, Object> node = new HashMap<>();
+        node.put(FIELD_SOURCE_LANG, sourceLang);
+        node.put(FIELD_TARGET_LANG, targetLang);
+        node.put(FIELD_SOURCE_TEXT, sourceText);
+        node.put(FIELD_TARGET_TEXT, targetText);
+        node.put(FIELD_CREATED_AT, createdAt);
+        node.put(FIELD_UPDATED_AT, updatedAt);
+        node.put(FIELD_SYNCED_AT, serverTimestamp);
+        paths.put(historyPath(uid) + '/' + entryKey(sourceLang, targetLang, sourceText), node);
+        maxUpdatedAt = Math.max(maxUpdatedAt, updatedAt);
+    }
+
+    int size() {
+        return paths.size();
+    }
+
+    boolean isEmpty() {
+        return paths.isEmpty();
+    }
+
+    /** Latest {@code updatedAt} in this write, or {@link Long#MIN_VALUE} if empty. */
+    long getMaxUpdatedAt() {
+        return maxUpdatedAt;
+    }
+
+    Map<String, Object> toMap() {
+        return paths;
+    }
+
+    /**
+     * Stable node key for a translation: hex of a truncated SHA-256, which only uses
+     * characters Firebase allows in keys.
+     */
+    static String entryKey(String sourceLang, String targetLang, String sourceText) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(sourceLang.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(targetLang.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            byte[] hash = digest.digest(sourceText.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(KEY_BYTES * 2);
+            for (int i = 0; i < KEY_BYTES; i++) {
+                key.append(Character.forDigit((hash[i] >> 4) & 0xF, 16));
+                key.append(Character.forDigit(hash[i] & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
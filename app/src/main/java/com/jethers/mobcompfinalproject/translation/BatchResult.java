@@ -0,0 +1,20 @@
+package com.jethers.mobcompfinalproject.translation;
+
+/** Outcome of one input of {@link TranslationService#translateBatch}. */
+public final class BatchResult {
+    public final String text;
+    /** Null when the item failed. */
+    public final String translation;
+    /** Null when the item succeeded. */
+    public final Exception error;
+
+    BatchResult(String text, String translation, Exception error) {
+        this.text = text;
+        this.translation = translation;
+        this.error = error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates a list of strings with at most {@code maxParallel} requests in flight. Inputs
+ * that normalize to the same text are sent once, and blank inputs are not sent at all.
+ * Unlike {@link SegmentedTranslation}, a failed item does not fail the batch; every input
+ * gets its own {@link BatchResult}, in input order. All state is touched only from the main
+ * thread, where item callbacks are delivered.
+ */
+final class BatchTranslation extends TranslationHandle {
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final List<String> texts;
+    private final String sourceLanguage;
+    private final String targetLanguage;
+    private final TranslationService.BatchTranslationCallback callback;
+    private final int maxParallel;
+    // Input index -> index into uniqueTexts, or -1 for blank input
+    private final int[] uniqueIndexOf;
+    private final List<String> uniqueTexts;
+    private final String[] translations;
+    private final Exception[] errors;
+    private final TranslationHandle[] handles;
+    private int nextItem;
+    private int completedItems;
+
+    BatchTranslation(List<String> texts, String sourceLanguage, String targetLanguage, int maxParallel,
+                     TranslationService.BatchTranslationCallback callback) {
+        super(null, null, null);
+        this.texts = new ArrayList<>(texts);
+        this.sourceLanguage = sourceLanguage;
+        this.targetLanguage = targetLanguage;
+        this.callback = callback;
+        this.maxParallel = Math.max(1, maxParallel);
+        this.uniqueIndexOf = new int[texts.size()];
+        this.uniqueTexts = dedupe(this.texts, uniqueIndexOf);
+        this.translations = new String[uniqueTexts.size()];
+        this.errors = new Exception[uniqueTexts.size()];
+        this.handles = new TranslationHandle[uniqueTexts.size()];
+    }
+
+    /**
+     * Distinct non-blank texts in first-seen order. {@code indexOf[i]} is set to the position
+     * of input {@code i} in the returned list, or -1 if the input is blank.
+     */
+    static List<String> dedupe(List<String> texts, int[] indexOf) {
+        List<String> unique = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            String key = text == null ? "" : TextNormalizer.normalize(text);
+            if (key.isEmpty()) {
+                indexOf[i] = -1;
+                continue;
+            }
+            Integer index = seen.get(key);
+            if (index == null) {
+                index = unique.size();
+                seen.put(key, index);
+                unique.add(text);
+            }
+            indexOf[i] = index;
+        }
+        return unique;
+    }
+
+    void start() {
+        if (uniqueTexts.isEmpty()) {
+            // Posted like every other result, so the caller holds the handle first
+            mainHandler.post(this::finish);
+            return;
+        }
+        int initial = Math.min(maxParallel, uniqueTexts.size());
+        for (int i = 0; i < initial; i++) {
+            startNext();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled() || isDone()) {
+            return;
+        }
+        super.cancel();
+        for (TranslationHandle handle : handles) {
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+    }
+
+    private void startNext() {
+        if (nextItem >= uniqueTexts.size() || isCancelled() || isDone()) {
+            return;
+        }
+        final int index = nextItem++;
+        handles[index] = TranslationService.translateText(uniqueTexts.get(index), sourceLanguage, targetLanguage,
+                new TranslationService.TranslationCallback() {
+                    @Override
+                    public void onTranslationComplete(String translatedText) {
+                        onItemFinished(index, translatedText, null);
+                    }
+
+                    @Override
+                    public void onTranslationError(Exception e) {
+                        onItemFinished(index, null, e);
+                    }
+                });
+    }
+
+    private void onItemFinished(int index, String translatedText, Exception error) {
+        if (isCancelled() || isDone()) {
+            return;
+        }
+        translations[index] = translatedText;
+        errors[index] = error;
+        completedItems++;
+        if (completedItems == uniqueTexts.size()) {
+            finish();
+            return;
+        }
+        startNext();
+    }
+
+    private void finish() {
+        if (!markDone()) {
+            return;
+        }
+        BatchResult[] results = new BatchResult[texts.size()];
+        for (int i = 0; i < results.length; i++) {
+            int index = uniqueIndexOf[i];
+            results[i] = index < 0
+                    ? new BatchResult(texts.get(i), "", null)
+                    : new BatchResult(texts.get(i), translations[index], errors[index]);
+        }
+        callback.onBatchComplete(Collections.unmodifiableList(Arrays.asList(results)));
+    }
+}
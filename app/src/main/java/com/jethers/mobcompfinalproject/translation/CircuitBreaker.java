@@ -0,0 +1,94 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling a backend that keeps failing. After {@code failureThreshold} consecutive
+ * failures the breaker opens and requests are refused for {@code openMillis}; then a single
+ * trial request is let through, and its outcome either closes the breaker or opens it again.
+ * Thread-safe.
+ */
+public final class CircuitBreaker {
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_OPEN_MILLIS = 30_000;
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    // When the half-open trial was let through; a trial that never reports back is replaced after openMillis
+    private long trialStartedAt;
+    private boolean trialInFlight;
+    private long rejected;
+
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS, System::currentTimeMillis);
+    }
+
+    /** @param clock milliseconds, e.g. {@code System::currentTimeMillis} or a fake in tests */
+    public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /** Whether a request may go to the backend now. Every allowed request must report its outcome. */
+    public synchronized boolean allowRequest() {
+        long now = clock.getAsLong();
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now - openedAt < openMillis) {
+                    rejected++;
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                return startTrial(now);
+            default:
+                if (trialInFlight && now - trialStartedAt < openMillis) {
+                    rejected++;
+                    return false;
+                }
+                return startTrial(now);
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            consecutiveFailures = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** Requests refused since the breaker was created. */
+    public synchronized long getRejectedCount() {
+        return rejected;
+    }
+
+    private boolean startTrial(long now) {
+        trialInFlight = true;
+        trialStartedAt = now;
+        return true;
+    }
+}
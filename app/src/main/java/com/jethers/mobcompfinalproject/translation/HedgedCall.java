@@ -0,0 +1,161 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes an idempotent call and, if it has not answered within the hedge delay, a second
+ * identical one. The first successful response wins and the other call is cancelled, which
+ * cuts off the slowest few percent of requests for a few percent of extra load. Blocks the
+ * calling thread like {@link Call#execute()}.
+ */
+final class HedgedCall {
+    /** Told about every call started, so the owner can cancel them all. */
+    interface Listener {
+        void onCallStarted(Call call);
+
+        void onHedgeFinished(boolean hedgeWon);
+    }
+
+    private HedgedCall() {
+    }
+
+    /** @param hedgeDelayMillis wait before the duplicate call; 0 or less executes the call alone */
+    static Response execute(Call primary, long hedgeDelayMillis, Listener listener) throws IOException {
+        listener.onCallStarted(primary);
+        if (hedgeDelayMillis <= 0) {
+            return primary.execute();
+        }
+
+        Outcomes outcomes = new Outcomes();
+        primary.enqueue(outcomes);
+        Call hedge = null;
+        Outcome winner = null;
+        try {
+            Outcome outcome = outcomes.await(hedgeDelayMillis);
+            int pending = 1;
+            if (outcome == null) {
+                hedge = primary.clone();
+                listener.onCallStarted(hedge);
+                hedge.enqueue(outcomes);
+                pending = 2;
+                outcome = outcomes.await(0);
+            }
+            pending--;
+            winner = outcome;
+            // A failure from one call still leaves the other one a chance to succeed
+            while (!winner.isSuccessful() && pending > 0) {
+                Outcome next = outcomes.await(0);
+                pending--;
+                if (next.isSuccessful()) {
+                    close(winner);
+                    winner = next;
+                } else {
+                    close(next);
+                }
+            }
+        } catch (InterruptedException e) {
+            if (winner != null) {
+                close(winner);
+                winner = null;
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + primary.request().url());
+        } finally {
+            outcomes.settle(winner);
+            if (winner == null || winner.call != primary) {
+                primary.cancel();
+            }
+            if (hedge != null && (winner == null || winner.call != hedge)) {
+                hedge.cancel();
+            }
+        }
+        if (hedge != null) {
+            listener.onHedgeFinished(winner.call == hedge);
+        }
+        if (winner.response != null) {
+            return winner.response;
+        }
+        throw winner.error;
+    }
+
+    private static final class Outcome {
+        final Call call;
+        final Response response;
+        final IOException error;
+
+        Outcome(Call call, Response response, IOException error) {
+            this.call = call;
+            this.response = response;
+            this.error = error;
+        }
+
+        boolean isSuccessful() {
+            return response != null && response.isSuccessful();
+        }
+    }
+
+    // Collects call results; responses that arrive after the winner is chosen are closed
+    private static final class Outcomes implements Callback {
+        private final ArrayDeque<Outcome> queue = new ArrayDeque<>();
+        private boolean settled;
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            add(new Outcome(call, response, null));
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            add(new Outcome(call, null, e));
+        }
+
+        private synchronized void add(Outcome outcome) {
+            if (settled) {
+                close(outcome);
+                return;
+            }
+            queue.add(outcome);
+            notifyAll();
+        }
+
+        /** Next outcome, waiting up to {@code timeoutMillis} (0 waits indefinitely); null on timeout. */
+        synchronized Outcome await(long timeoutMillis) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (queue.isEmpty()) {
+                if (timeoutMillis <= 0) {
+                    wait();
+                    continue;
+                }
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return null;
+                }
+                wait(remaining);
+            }
+            return queue.poll();
+        }
+
+        synchronized void settle(Outcome winner) {
+            settled = true;
+            for (Outcome outcome : queue) {
+                if (outcome != winner) {
+                    close(outcome);
+                }
+            }
+            queue.clear();
+        }
+    }
+
+    private static void close(Outcome outcome) {
+        if (outcome.response != null) {
+            outcome.response.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Detected language codes keyed by a 64-bit hash of the text sample that was identified, so
+ * the same OCR result or transcript is only run through the model once and no source text is
+ * held in memory. Bounded LRU; thread-safe.
+ */
+final class LanguageDetectionCache {
+    static final int DEFAULT_MAX_ENTRIES = 128;
+    // Identification accuracy stops improving well before this; longer text only costs time
+    static final int MAX_SAMPLE_CHARS = 200;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final LinkedHashMap<Long, String> entries;
+
+    LanguageDetectionCache(int maxEntries) {
+        entries = new LinkedHashMap<Long, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** Normalized text cut to at most {@link #MAX_SAMPLE_CHARS}, at a word boundary where there is one. */
+    static String sampleOf(String text) {
+        String normalized = TextNormalizer.normalize(text);
+        if (normalized.length() <= MAX_SAMPLE_CHARS) {
+            return normalized;
+        }
+        int cut = normalized.lastIndexOf(' ', MAX_SAMPLE_CHARS);
+        if (cut < MAX_SAMPLE_CHARS / 2) {
+            cut = MAX_SAMPLE_CHARS;
+            if (Character.isHighSurrogate(normalized.charAt(cut - 1))) {
+                cut--;
+            }
+        }
+        return normalized.substring(0, cut);
+    }
+
+    /** 64-bit FNV-1a over the UTF-16 code units. */
+    static long hash(String sample) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < sample.length(); i++) {
+            char c = sample.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    synchronized String get(long key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(long key, String languageCode) {
+        entries.put(key, languageCode);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,148 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.mlkit.nl.languageid.LanguageIdentification;
+import com.google.mlkit.nl.languageid.LanguageIdentificationOptions;
+import com.google.mlkit.nl.languageid.LanguageIdentifier;
+
+/**
+ * On-device source-language detection with the bundled ML Kit language-id model. Results are
+ * cached per text hash, so detecting right after OCR makes the later lookup on the translate
+ * path free. A detection that takes longer than its budget is reported as undetermined and
+ * the caller falls back to a default; the result is still cached when it arrives. The budget
+ * only applies once the model has answered at least once: a cold first detection includes
+ * loading the model and always waits for the real answer.
+ *
+ * <p>Call from the main thread; callbacks are delivered there.
+ */
+public final class LanguageDetector {
+    private static final String TAG = "LanguageDetector";
+
+    /** Source spinner entry that asks for the language to be detected. */
+    public static final String AUTO_DETECT = "Auto-detect";
+    /** Longest the translation path waits for a detection before falling back. */
+    public static final long DEFAULT_BUDGET_MS = 150;
+
+    private static final float MIN_CONFIDENCE = 0.5f;
+    private static final String UNDETERMINED = "und";
+
+    public interface Callback {
+        /** @param language display name such as "French", or null if undetermined or unsupported */
+        void onLanguageDetected(String language);
+    }
+
+    /** A detection in progress. Cancelling drops the callback; the result is still cached. */
+    public static final class Request {
+        private final Callback callback;
+        private boolean finished;
+
+        Request(Callback callback) {
+            this.callback = callback;
+        }
+
+        public void cancel() {
+            finished = true;
+        }
+
+        /** True once the callback has run or the request was cancelled. */
+        public boolean isFinished() {
+            return finished;
+        }
+
+        void finish(String language) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            callback.onLanguageDetected(language);
+        }
+    }
+
+    private static LanguageDetector instance;
+
+    private final LanguageIdentifier identifier;
+    private final LanguageDetectionCache cache = new LanguageDetectionCache(LanguageDetectionCache.DEFAULT_MAX_ENTRIES);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final TranslationMetrics metrics = TranslationMetrics.getInstance();
+    // Set once the model has answered; main thread only
+    private boolean warm;
+
+    private LanguageDetector() {
+        identifier = LanguageIdentification.getClient(new LanguageIdentificationOptions.Builder()
+                .setConfidenceThreshold(MIN_CONFIDENCE)
+                .build());
+    }
+
+    public static synchronized LanguageDetector getInstance() {
+        if (instance == null) {
+            instance = new LanguageDetector();
+        }
+        return instance;
+    }
+
+    public Request detect(String text, Callback callback) {
+        return detect(text, DEFAULT_BUDGET_MS, callback);
+    }
+
+    /**
+     * Identifies the language of {@code text}. A cached result is delivered before this
+     * returns; otherwise the callback runs when the model answers or after {@code budgetMs},
+     * whichever comes first. Before the model is warm there is no budget.
+     */
+    public Request detect(String text, long budgetMs, Callback callback) {
+        Request request = new Request(callback);
+        String sample = LanguageDetectionCache.sampleOf(text);
+        if (sample.isEmpty()) {
+            request.finish(null);
+            return request;
+        }
+        long key = LanguageDetectionCache.hash(sample);
+        String cached = cache.get(key);
+        if (cached != null) {
+            metrics.recordDetection(0, true);
+            request.finish(nameOf(cached));
+            return request;
+        }
+
+        long start = SystemClock.elapsedRealtime();
+        Runnable timeout = () -> {
+            if (!request.isFinished()) {
+                metrics.recordDetectionTimeout();
+                Log.d(TAG, "Detection exceeded " + budgetMs + " ms budget");
+                request.finish(null);
+            }
+        };
+        if (warm) {
+            mainHandler.postDelayed(timeout, budgetMs);
+        }
+        identifier.identifyLanguage(sample)
+                .addOnSuccessListener(code -> {
+                    warm = true;
+                    mainHandler.removeCallbacks(timeout);
+                    metrics.recordDetection(SystemClock.elapsedRealtime() - start, false);
+                    cache.put(key, code);
+                    request.finish(nameOf(code));
+                })
+                .addOnFailureListener(e -> {
+                    mainHandler.removeCallbacks(timeout);
+                    Log.w(TAG, "Language identification failed", e);
+                    request.finish(null);
+                });
+        return request;
+    }
+
+    /** Runs the model once so it is loaded before the first real detection. */
+    public Task<String> warmUp() {
+        return identifier.identifyLanguage("Hello, how are you?")
+                .addOnSuccessListener(code -> warm = true);
+    }
+
+    private static String nameOf(String code) {
+        return UNDETERMINED.equals(code) ? null : LanguageRegistry.getName(code);
+    }
+}
@@ -0,0 +1,105 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Every language the app offers, built once in display order: English first, then Spanish,
+ * so spinner positions are stable. Lookups by display name or API code are single map reads
+ * and return shared immutable objects; nothing is allocated per call. Kept free of Android
+ * types; engine availability is probed and cached by the speech classes.
+ */
+public final class LanguageRegistry {
+    /** One supported language. */
+    public static final class Language {
+        /** Name shown in the spinners, e.g. "Spanish". */
+        public final String displayName;
+        /** MyMemory and ML Kit language-id code, e.g. "es". */
+        public final String code;
+        /** Locale for text-to-speech. */
+        public final Locale locale;
+        /** BCP 47 tag for {@code RecognizerIntent.EXTRA_LANGUAGE}, e.g. "es-ES". */
+        public final String recognizerTag;
+
+        Language(String displayName, String code, Locale locale, String recognizerTag) {
+            this.displayName = displayName;
+            this.code = code;
+            this.locale = locale;
+            this.recognizerTag = recognizerTag;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private static final List<Language> LANGUAGES;
+    private static final List<String> DISPLAY_NAMES;
+    private static final Map<String, Language> BY_NAME;
+    private static final Map<String, Language> BY_CODE;
+
+    static {
+        List<Language> languages = new ArrayList<>();
+        languages.add(new Language("English", "en", Locale.ENGLISH, "en-US"));
+        languages.add(new Language("Spanish", "es", new Locale("es"), "es-ES"));
+        languages.add(new Language("French", "fr", Locale.FRENCH, "fr-FR"));
+        languages.add(new Language("German", "de", Locale.GERMAN, "de-DE"));
+        languages.add(new Language("Italian", "it", Locale.ITALIAN, "it-IT"));
+        languages.add(new Language("Portuguese", "pt", new Locale("pt"), "pt-BR"));
+        languages.add(new Language("Russian", "ru", new Locale("ru"), "ru-RU"));
+        languages.add(new Language("Chinese", "zh", Locale.CHINESE, "zh-CN"));
+        languages.add(new Language("Japanese", "ja", Locale.JAPANESE, "ja-JP"));
+        languages.add(new Language("Korean", "ko", Locale.KOREAN, "ko-KR"));
+
+        List<String> names = new ArrayList<>(languages.size());
+        Map<String, Language> byName = new HashMap<>();
+        Map<String, Language> byCode = new HashMap<>();
+        for (Language language : languages) {
+            names.add(language.displayName);
+            byName.put(language.displayName, language);
+            byCode.put(language.code, language);
+        }
+        LANGUAGES = Collections.unmodifiableList(languages);
+        DISPLAY_NAMES = Collections.unmodifiableList(names);
+        BY_NAME = byName;
+        BY_CODE = byCode;
+    }
+
+    private LanguageRegistry() {
+    }
+
+    /** All languages in display order. */
+    public static List<Language> getLanguages() {
+        return LANGUAGES;
+    }
+
+    /** Display names in display order, e.g. for a spinner adapter. */
+    public static List<String> getDisplayNames() {
+        return DISPLAY_NAMES;
+    }
+
+    /** The language with this display name, or null. */
+    public static Language forName(String displayName) {
+        return displayName == null ? null : BY_NAME.get(displayName);
+    }
+
+    /** The language with this API code, or null. */
+    public static Language forCode(String code) {
+        return code == null ? null : BY_CODE.get(code);
+    }
+
+    public static String getCode(String displayName) {
+        Language language = forName(displayName);
+        return language != null ? language.code : null;
+    }
+
+    public static String getName(String code) {
+        Language language = forCode(code);
+        return language != null ? language.displayName : null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/** MyMemory's free {@code /get} endpoint. */
+public class MyMemoryBackend implements TranslationBackend {
+    public static final String DEFAULT_BASE_URL = "https://api.mymemory.translated.net/";
+    // Alternative translations parsed from each response for AlternativesCallback
+    public static final int MAX_MATCHES = 3;
+
+    private final OkHttpClient client;
+    private final String baseUrl;
+    private final String endpoint;
+
+    public MyMemoryBackend(OkHttpClient client) {
+        this(client, DEFAULT_BASE_URL);
+    }
+
+    /** @param baseUrl server root ending in '/', e.g. a local mock server in tests */
+    public MyMemoryBackend(OkHttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.endpoint = baseUrl + "get?q=";
+    }
+
+    @Override
+    public String getName() {
+        return "MyMemory";
+    }
+
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public Call newCall(String text, String sourceLangCode, String targetLangCode) {
+        Request request = new Request.Builder()
+                .url(buildUrl(text, sourceLangCode, targetLangCode))
+                .addHeader("Accept", "application/json")
+                .build();
+        return client.newCall(request);
+    }
+
+    @Override
+    public Call newWarmUpCall() {
+        Request request = new Request.Builder()
+                .url(baseUrl)
+                .head()
+                .build();
+        return client.newCall(request);
+    }
+
+    @Override
+    public MyMemoryResponse parseResponse(Response response) throws IOException {
+        return MyMemoryResponseParser.parse(response.body().charStream(), MAX_MATCHES);
+    }
+
+    String buildUrl(String text, String sourceLang, String targetLang) {
+        // Text is cleaned and percent-encoded in one pass straight into the URL buffer
+        StringBuilder url = new StringBuilder(endpoint.length() + text.length() * 3 + 48);
+        url.append(endpoint);
+        TextNormalizer.appendEncoded(text, url);
+
+        // Add additional parameters for better translation quality
+        url.append("&langpair=").append(sourceLang).append('|').append(targetLang)
+                .append("&de=example@email.com&mt=1");
+        return url.toString();
+    }
+}
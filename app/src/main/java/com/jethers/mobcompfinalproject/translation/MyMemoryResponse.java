@@ -0,0 +1,73 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.Collections;
+import java.util.List;
+
+/** The parts of a MyMemory {@code /get} response the app uses. */
+public class MyMemoryResponse {
+    public static final int STATUS_UNKNOWN = -1;
+
+    private final String translatedText;
+    private final int responseStatus;
+    private final String responseDetails;
+    private final List<Match> matches;
+
+    public static class Match {
+        private final String segment;
+        private final String translation;
+        private final int quality;
+        private final double match;
+
+        public Match(String segment, String translation, int quality, double match) {
+            this.segment = segment;
+            this.translation = translation;
+            this.quality = quality;
+            this.match = match;
+        }
+
+        public String getSegment() {
+            return segment;
+        }
+
+        public String getTranslation() {
+            return translation;
+        }
+
+        // Translation memory quality score, 0-100
+        public int getQuality() {
+            return quality;
+        }
+
+        // How closely the stored segment matched the query, 0.0-1.0
+        public double getMatch() {
+            return match;
+        }
+    }
+
+    public MyMemoryResponse(String translatedText, int responseStatus, String responseDetails, List<Match> matches) {
+        this.translatedText = translatedText;
+        this.responseStatus = responseStatus;
+        this.responseDetails = responseDetails;
+        this.matches = matches != null ? Collections.unmodifiableList(matches) : Collections.<Match>emptyList();
+    }
+
+    public String getTranslatedText() {
+        return translatedText;
+    }
+
+    public int getResponseStatus() {
+        return responseStatus;
+    }
+
+    public String getResponseDetails() {
+        return responseDetails;
+    }
+
+    public boolean isStatusOk() {
+        return responseStatus >= 200 && responseStatus < 300;
+    }
+
+    public List<Match> getMatches() {
+        return matches;
+    }
+}
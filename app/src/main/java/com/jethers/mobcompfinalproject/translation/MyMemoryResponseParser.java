@@ -0,0 +1,159 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pulls {@code responseData.translatedText}, {@code responseStatus} and the first few
+ * {@code matches} straight off the response stream. Everything else, including the rest of
+ * the matches array, is skipped without building a tree.
+ */
+public final class MyMemoryResponseParser {
+    private MyMemoryResponseParser() {
+    }
+
+    public static MyMemoryResponse parse(Reader body, int maxMatches) throws IOException {
+        JsonReader reader = new JsonReader(body);
+        reader.setLenient(true);
+
+        String translatedText = null;
+        int status = MyMemoryResponse.STATUS_UNKNOWN;
+        String details = null;
+        List<MyMemoryResponse.Match> matches = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "responseData":
+                    translatedText = readTranslatedText(reader);
+                    break;
+                case "responseStatus":
+                    status = readInt(reader, MyMemoryResponse.STATUS_UNKNOWN);
+                    break;
+                case "responseDetails":
+                    details = readString(reader);
+                    break;
+                case "matches":
+                    matches = readMatches(reader, maxMatches);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (translatedText == null) {
+            throw new JsonParseException("Invalid response format");
+        }
+        return new MyMemoryResponse(translatedText, status, details, matches);
+    }
+
+    private static String readTranslatedText(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String translatedText = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("translatedText")) {
+                translatedText = readString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return translatedText;
+    }
+
+    private static List<MyMemoryResponse.Match> readMatches(JsonReader reader, int maxMatches) throws IOException {
+        if (maxMatches <= 0 || reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+        List<MyMemoryResponse.Match> matches = new ArrayList<>(maxMatches);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (matches.size() < maxMatches && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                matches.add(readMatch(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+        return matches;
+    }
+
+    private static MyMemoryResponse.Match readMatch(JsonReader reader) throws IOException {
+        String segment = null;
+        String translation = null;
+        int quality = 0;
+        double match = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "segment":
+                    segment = readString(reader);
+                    break;
+                case "translation":
+                    translation = readString(reader);
+                    break;
+                case "quality":
+                    quality = readInt(reader, 0);
+                    break;
+                case "match":
+                    match = readDouble(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return new MyMemoryResponse.Match(segment, translation, quality, match);
+    }
+
+    private static String readString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (reader.peek() != JsonToken.STRING && reader.peek() != JsonToken.NUMBER) {
+            reader.skipValue();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    // MyMemory sends some numbers as strings ("quality": "74", "responseStatus": "403")
+    private static int readInt(JsonReader reader, int fallback) throws IOException {
+        String value = readString(reader);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return (int) Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static double readDouble(JsonReader reader) throws IOException {
+        String value = readString(reader);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.Random;
+
+/**
+ * How often, and after how long, a failed idempotent request is tried again. Delays use
+ * "full jitter": a uniformly random wait between zero and an exponentially growing cap, so
+ * clients that failed together do not retry together.
+ */
+public final class RetryPolicy {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 250;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 2_000;
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final Random random;
+
+    public RetryPolicy() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS, new Random());
+    }
+
+    /** @param maxAttempts total attempts including the first; 1 disables retries */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, Random random) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.random = random;
+    }
+
+    public static RetryPolicy noRetries() {
+        return new RetryPolicy(1, 0, 0, new Random());
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /** Whether another attempt may follow {@code failedAttempts} failures. */
+    public boolean shouldRetry(int failedAttempts) {
+        return failedAttempts < maxAttempts;
+    }
+
+    /** Wait before the attempt following {@code failedAttempts} failures, in milliseconds. */
+    public long backoffMillis(int failedAttempts) {
+        int exponent = Math.min(Math.max(failedAttempts - 1, 0), 30);
+        long cap = Math.min(maxDelayMillis, baseDelayMillis << exponent);
+        if (cap <= 0) {
+            return 0;
+        }
+        synchronized (random) {
+            return (long) (random.nextDouble() * (cap + 1));
+        }
+    }
+}
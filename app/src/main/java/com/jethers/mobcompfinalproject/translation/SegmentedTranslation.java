@@ -0,0 +1,115 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.List;
+
+/**
+ * Translates segments concurrently, at most {@code maxParallel} at a time, and streams the
+ * in-order prefix of finished segments to the callback. All state is touched only from the
+ * main thread, where segment callbacks are delivered.
+ */
+final class SegmentedTranslation extends TranslationHandle {
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final List<TextSegmenter.Segment> segments;
+    private final String sourceLanguage;
+    private final String targetLanguage;
+    private final boolean recognizedText;
+    private final TranslationService.SegmentedTranslationCallback callback;
+    private final int maxParallel;
+    private final String[] translations;
+    private final TranslationHandle[] handles;
+    private int nextSegment;
+    private int completedSegments;
+
+    SegmentedTranslation(List<TextSegmenter.Segment> segments, String sourceLanguage, String targetLanguage,
+                         boolean recognizedText, int maxParallel,
+                         TranslationService.SegmentedTranslationCallback callback) {
+        super(callback, null, null);
+        this.segments = segments;
+        this.sourceLanguage = sourceLanguage;
+        this.targetLanguage = targetLanguage;
+        this.recognizedText = recognizedText;
+        this.callback = callback;
+        this.maxParallel = Math.max(1, maxParallel);
+        this.translations = new String[segments.size()];
+        this.handles = new TranslationHandle[segments.size()];
+    }
+
+    void start() {
+        if (segments.isEmpty()) {
+            // Posted like every other result, so the caller holds the handle first
+            mainHandler.post(() -> deliver("", null));
+            return;
+        }
+        int initial = Math.min(maxParallel, segments.size());
+        for (int i = 0; i < initial; i++) {
+            startNext();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled() || isDone()) {
+            return;
+        }
+        super.cancel();
+        cancelRunning();
+    }
+
+    private void startNext() {
+        if (nextSegment >= segments.size() || isCancelled() || isDone()) {
+            return;
+        }
+        final int index = nextSegment++;
+        String text = segments.get(index).text;
+        TranslationService.TranslationCallback segmentCallback = new TranslationService.TranslationCallback() {
+            @Override
+            public void onTranslationComplete(String translatedText) {
+                onSegmentTranslated(index, translatedText);
+            }
+
+            @Override
+            public void onTranslationError(Exception e) {
+                onSegmentFailed(e);
+            }
+        };
+        handles[index] = recognizedText
+                ? TranslationService.translateRecognizedText(text, sourceLanguage, targetLanguage, segmentCallback)
+                : TranslationService.translateText(text, sourceLanguage, targetLanguage, segmentCallback);
+    }
+
+    private void onSegmentTranslated(int index, String translatedText) {
+        if (isCancelled() || isDone()) {
+            return;
+        }
+        translations[index] = translatedText;
+        completedSegments++;
+        String assembled = TextSegmenter.join(segments, translations);
+        if (completedSegments == segments.size()) {
+            deliver(assembled, null);
+            return;
+        }
+        callback.onPartialTranslation(assembled, completedSegments, segments.size());
+        startNext();
+    }
+
+    // One failed segment fails the whole text, matching the single-request behaviour
+    private void onSegmentFailed(Exception e) {
+        if (isCancelled() || isDone()) {
+            return;
+        }
+        deliver(null, e);
+        cancelRunning();
+    }
+
+    private void cancelRunning() {
+        for (TranslationHandle handle : handles) {
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+    }
+}
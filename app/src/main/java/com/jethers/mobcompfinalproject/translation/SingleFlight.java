@@ -0,0 +1,77 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks in-flight calls by key so identical concurrent requests share one call.
+ * The first waiter to {@link #join} a key is the leader and runs the call; everyone
+ * who joins before {@link #complete} is fanned the same result. If every waiter
+ * {@link #leave}s first, the flight's abort action runs so the call can be cancelled.
+ */
+final class SingleFlight<W> {
+    private final Map<String, Flight<W>> calls = new HashMap<>();
+
+    static final class Flight<W> {
+        final String key;
+        private List<W> waiters = new ArrayList<>(2);
+        private Runnable abort;
+
+        Flight(String key) {
+            this.key = key;
+        }
+    }
+
+    /** Registers a waiter; returns the new flight if the caller is the leader and must start the call, else null. */
+    synchronized Flight<W> join(String key, W waiter) {
+        Flight<W> flight = calls.get(key);
+        if (flight != null) {
+            flight.waiters.add(waiter);
+            return null;
+        }
+        flight = new Flight<>(key);
+        flight.waiters.add(waiter);
+        calls.put(key, flight);
+        return flight;
+    }
+
+    /** Sets the action run when the last waiter leaves before the flight completes. */
+    synchronized void onAbandoned(Flight<W> flight, Runnable abort) {
+        flight.abort = abort;
+    }
+
+    /** Removes a waiter; aborts the flight if it was the last one. */
+    void leave(String key, W waiter) {
+        Runnable abort = null;
+        synchronized (this) {
+            Flight<W> flight = calls.get(key);
+            if (flight == null || !flight.waiters.remove(waiter)) {
+                return;
+            }
+            if (flight.waiters.isEmpty()) {
+                calls.remove(key);
+                abort = flight.abort;
+            }
+        }
+        if (abort != null) {
+            abort.run();
+        }
+    }
+
+    /** Ends the flight and returns every waiter still attached to it. */
+    synchronized List<W> complete(Flight<W> flight) {
+        if (calls.get(flight.key) == flight) {
+            calls.remove(flight.key);
+        }
+        List<W> waiters = flight.waiters;
+        flight.waiters = Collections.emptyList();
+        return waiters;
+    }
+
+    synchronized int inFlight() {
+        return calls.size();
+    }
+}
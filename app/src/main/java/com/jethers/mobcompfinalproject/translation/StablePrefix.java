@@ -0,0 +1,40 @@
+package com.jethers.mobcompfinalproject.translation;
+
+/**
+ * Finds the part of a speech hypothesis that has stopped changing. Recognizers revise the
+ * last few words of a partial result as more audio arrives, so only the words shared by two
+ * consecutive hypotheses are treated as settled.
+ */
+public final class StablePrefix {
+    private String previous = "";
+
+    /** Feeds the next hypothesis and returns the settled prefix, ending on a word boundary. */
+    public String offer(String hypothesis) {
+        String current = hypothesis == null ? "" : hypothesis.trim();
+        String stable = commonWordPrefix(previous, current);
+        previous = current;
+        return stable;
+    }
+
+    /** Longest run of whole words, compared case-insensitively, that both texts start with. */
+    static String commonWordPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int lastBoundary = 0;
+        int i = 0;
+        while (i < length && Character.toLowerCase(a.charAt(i)) == Character.toLowerCase(b.charAt(i))) {
+            if (Character.isWhitespace(b.charAt(i))) {
+                lastBoundary = i;
+            }
+            i++;
+        }
+        // A word only counts when it has ended in both texts
+        if (i == length && isWordEnd(a, i) && isWordEnd(b, i)) {
+            lastBoundary = i;
+        }
+        return b.substring(0, lastBoundary).trim();
+    }
+
+    private static boolean isWordEnd(String text, int index) {
+        return index == text.length() || Character.isWhitespace(text.charAt(index));
+    }
+}
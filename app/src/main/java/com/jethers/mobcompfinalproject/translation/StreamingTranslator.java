@@ -0,0 +1,145 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Translates speech while it is still being recognized. Partial hypotheses are reduced to
+ * their settled prefix, debounced, and translated as a whole so each update has the full
+ * sentence context; a newer prefix cancels the request for the older one. The final result
+ * reuses the last translation when the prefix already covered it.
+ *
+ * <p>Use from the main thread only; one instance per utterance.
+ */
+public class StreamingTranslator {
+    public static final long DEFAULT_DEBOUNCE_MS = 300;
+
+    public interface Listener {
+        /** A translation of the text heard so far; {@code isFinal} once the utterance is complete. */
+        void onStreamingTranslation(String sourceText, String translatedText, boolean isFinal);
+        void onStreamingError(Exception e);
+    }
+
+    private final String sourceLanguage;
+    private final String targetLanguage;
+    private final Listener listener;
+    private final long debounceMs;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final StablePrefix stablePrefix = new StablePrefix();
+    private final Runnable translatePending = this::translatePending;
+
+    private String pendingText;
+    private String requestedText;
+    private TranslationHandle inFlight;
+    // Lets a callback tell whether its request is still the one in flight
+    private int requestSequence;
+    private String translatedSource;
+    private String translation;
+    private boolean finished;
+
+    public StreamingTranslator(String sourceLanguage, String targetLanguage, Listener listener) {
+        this(sourceLanguage, targetLanguage, listener, DEFAULT_DEBOUNCE_MS);
+    }
+
+    public StreamingTranslator(String sourceLanguage, String targetLanguage, Listener listener, long debounceMs) {
+        this.sourceLanguage = sourceLanguage;
+        this.targetLanguage = targetLanguage;
+        this.listener = listener;
+        this.debounceMs = debounceMs;
+    }
+
+    /** Feeds a partial recognition result. */
+    public void onPartialResult(String hypothesis) {
+        if (finished) {
+            return;
+        }
+        String stable = stablePrefix.offer(hypothesis);
+        if (stable.isEmpty() || stable.equals(pendingText) || stable.equals(requestedText)) {
+            return;
+        }
+        // Wait for the speaker to pause instead of translating every word
+        pendingText = stable;
+        handler.removeCallbacks(translatePending);
+        handler.postDelayed(translatePending, debounceMs);
+    }
+
+    /** Feeds the final recognition result; later partial results are ignored. */
+    public void onFinalResult(String text) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        handler.removeCallbacks(translatePending);
+        pendingText = null;
+        String finalText = text == null ? "" : text.trim();
+        if (finalText.isEmpty()) {
+            cancelInFlight();
+            return;
+        }
+        if (finalText.equals(translatedSource)) {
+            cancelInFlight();
+            listener.onStreamingTranslation(finalText, translation, true);
+        } else if (!finalText.equals(requestedText)) {
+            request(finalText);
+        }
+        // Otherwise the request already in flight is for exactly this text and reports as final
+    }
+
+    /** Stops streaming and drops any request in flight. */
+    public void cancel() {
+        finished = true;
+        handler.removeCallbacks(translatePending);
+        cancelInFlight();
+    }
+
+    private void translatePending() {
+        String text = pendingText;
+        pendingText = null;
+        if (text != null && !finished) {
+            request(text);
+        }
+    }
+
+    private void request(String text) {
+        TranslationHandle previous = inFlight;
+        requestedText = text;
+        int sequence = ++requestSequence;
+        inFlight = TranslationService.translateText(text, sourceLanguage, targetLanguage,
+                new TranslationService.TranslationCallback() {
+                    @Override
+                    public void onTranslationComplete(String translatedText) {
+                        if (sequence == requestSequence) {
+                            inFlight = null;
+                            requestedText = null;
+                        }
+                        translatedSource = text;
+                        translation = translatedText;
+                        listener.onStreamingTranslation(text, translatedText, finished);
+                    }
+
+                    @Override
+                    public void onTranslationError(Exception e) {
+                        if (sequence == requestSequence) {
+                            inFlight = null;
+                            requestedText = null;
+                        }
+                        // A failed partial is superseded by the next one; only the final result matters
+                        if (finished) {
+                            listener.onStreamingError(e);
+                        }
+                    }
+                });
+        // Started before cancelling so an identical in-flight request keeps its network call
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void cancelInFlight() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+        requestedText = null;
+    }
+}
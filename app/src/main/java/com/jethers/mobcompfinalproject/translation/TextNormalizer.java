@@ -0,0 +1,149 @@
+package com.jethers.mobcompfinalproject.translation;
+
+/**
+ * Single-pass replacement for the original cleaning chain
+ * {@code trim().replaceAll("\\s+", " ").replaceAll("[\\p{Punct}&&[^',.!?]]", "")}
+ * followed by {@code URLEncoder.encode(text, "UTF-8")}. Output is identical to that chain,
+ * but no regex is compiled and only the final string is allocated.
+ * {@link #normalize} is also the canonical form used for cache keys.
+ */
+public final class TextNormalizer {
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    // Buffers that grew past this are dropped instead of being kept per thread
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+    };
+
+    private TextNormalizer() {
+    }
+
+    /** Cleaned text: trimmed, whitespace runs collapsed, non-essential punctuation removed. */
+    public static String normalize(String text) {
+        StringBuilder out = buffer();
+        process(text, out, false);
+        return release(out);
+    }
+
+    /** Cleaned text, percent-encoded exactly as {@code URLEncoder.encode(cleaned, "UTF-8")}. */
+    public static String normalizeAndEncode(String text) {
+        StringBuilder out = buffer();
+        process(text, out, true);
+        return release(out);
+    }
+
+    /** Appends the encoded form to an existing builder, e.g. one that already holds the URL prefix. */
+    public static void appendEncoded(String text, StringBuilder out) {
+        process(text, out, true);
+    }
+
+    private static void process(String text, StringBuilder out, boolean encode) {
+        // Same bounds as String.trim()
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        boolean inWhitespace = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isRegexWhitespace(c)) {
+                if (!inWhitespace) {
+                    out.append(encode ? '+' : ' ');
+                    inWhitespace = true;
+                }
+                continue;
+            }
+            // Whitespace runs are collapsed before punctuation is removed, so a dropped
+            // character still separates two runs
+            inWhitespace = false;
+            if (isRemovedPunctuation(c)) {
+                continue;
+            }
+            if (!encode) {
+                out.append(c);
+            } else if (Character.isSurrogate(c)) {
+                // Pairing is decided after punctuation removal, so look past removed characters
+                int low = i + 1;
+                while (low < end && isRemovedPunctuation(text.charAt(low))) {
+                    low++;
+                }
+                if (Character.isHighSurrogate(c) && low < end && Character.isLowSurrogate(text.charAt(low))) {
+                    appendUtf8(Character.toCodePoint(c, text.charAt(low)), out);
+                    i = low;
+                } else {
+                    // Unpaired surrogates become '?' when URLEncoder converts them to UTF-8
+                    appendPercent('?', out);
+                }
+            } else {
+                appendEncodedChar(c, out);
+            }
+        }
+    }
+
+    // java.util.regex \s without UNICODE_CHARACTER_CLASS: [ \t\n\x0B\f\r]
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    // \p{Punct} is ASCII punctuation; ' , . ! ? are kept
+    private static boolean isRemovedPunctuation(char c) {
+        if (c < '!' || c > '~' || Character.isLetterOrDigit(c)) {
+            return false;
+        }
+        return c != '\'' && c != ',' && c != '.' && c != '!' && c != '?';
+    }
+
+    private static void appendEncodedChar(char c, StringBuilder out) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_') {
+            out.append(c);
+        } else if (c < 0x80) {
+            appendPercent(c, out);
+        } else {
+            appendUtf8(c, out);
+        }
+    }
+
+    private static void appendUtf8(int codePoint, StringBuilder out) {
+        if (codePoint < 0x800) {
+            appendPercent(0xC0 | (codePoint >> 6), out);
+            appendPercent(0x80 | (codePoint & 0x3F), out);
+        } else if (codePoint < 0x10000) {
+            appendPercent(0xE0 | (codePoint >> 12), out);
+            appendPercent(0x80 | ((codePoint >> 6) & 0x3F), out);
+            appendPercent(0x80 | (codePoint & 0x3F), out);
+        } else {
+            appendPercent(0xF0 | (codePoint >> 18), out);
+            appendPercent(0x80 | ((codePoint >> 12) & 0x3F), out);
+            appendPercent(0x80 | ((codePoint >> 6) & 0x3F), out);
+            appendPercent(0x80 | (codePoint & 0x3F), out);
+        }
+    }
+
+    private static void appendPercent(int b, StringBuilder out) {
+        out.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        return out;
+    }
+
+    private static String release(StringBuilder out) {
+        String result = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+}
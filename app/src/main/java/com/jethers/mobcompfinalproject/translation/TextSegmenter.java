@@ -0,0 +1,184 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits long text into pieces that fit in a single MyMemory request. Sentences are
+ * packed together up to {@link #DEFAULT_MAX_BYTES} bytes of UTF-8; a line break always ends
+ * a segment so the original layout can be restored with {@link #join}.
+ */
+public final class TextSegmenter {
+    // MyMemory rejects queries over 500 UTF-8 bytes, about 160 CJK characters; keep a margin
+    public static final int DEFAULT_MAX_BYTES = 450;
+
+    private TextSegmenter() {
+    }
+
+    public static final class Segment {
+        public final String text;
+        // Whitespace that followed the segment in the source, re-inserted on join
+        public final String separator;
+
+        Segment(String text, String separator) {
+            this.text = text;
+            this.separator = separator;
+        }
+    }
+
+    public static List<Segment> split(String text) {
+        return split(text, DEFAULT_MAX_BYTES);
+    }
+
+    /** @param maxBytes largest UTF-8 length of a segment's text */
+    public static List<Segment> split(String text, int maxBytes) {
+        if (text == null || text.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder pending = new StringBuilder();
+        int pendingBytes = 0;
+
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(text);
+        int start = sentences.first();
+        for (int end = sentences.next(); end != BreakIterator.DONE; start = end, end = sentences.next()) {
+            int contentEnd = end;
+            while (contentEnd > start && Character.isWhitespace(text.charAt(contentEnd - 1))) {
+                contentEnd--;
+            }
+            String sentence = text.substring(start, contentEnd).trim();
+            String separator = text.substring(contentEnd, end);
+            if (sentence.isEmpty()) {
+                continue;
+            }
+
+            int sentenceBytes = utf8Length(sentence, 0, sentence.length());
+            if (pending.length() > 0 && pendingBytes + 1 + sentenceBytes > maxBytes) {
+                addChunked(segments, pending.toString(), " ", maxBytes);
+                pending.setLength(0);
+                pendingBytes = 0;
+            }
+            if (pending.length() > 0) {
+                pending.append(' ');
+                pendingBytes++;
+            }
+            pending.append(sentence);
+            pendingBytes += sentenceBytes;
+
+            if (separator.indexOf('\n') >= 0 || end == text.length()) {
+                addChunked(segments, pending.toString(), separator, maxBytes);
+                pending.setLength(0);
+                pendingBytes = 0;
+            }
+        }
+        if (pending.length() > 0) {
+            addChunked(segments, pending.toString(), "", maxBytes);
+        }
+        return segments;
+    }
+
+    /**
+     * One segment per OCR block, in reading order. Blocks are already coherent units, so
+     * they are only split further when they are too long for a single request.
+     */
+    public static List<Segment> fromBlocks(List<String> blocks) {
+        List<Segment> segments = new ArrayList<>(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            String block = blocks.get(i).trim();
+            if (block.isEmpty()) {
+                continue;
+            }
+            String separator = i < blocks.size() - 1 ? "\n" : "";
+            if (utf8Length(block, 0, block.length()) > DEFAULT_MAX_BYTES) {
+                List<Segment> parts = split(block, DEFAULT_MAX_BYTES);
+                for (int j = 0; j < parts.size(); j++) {
+                    Segment part = parts.get(j);
+                    segments.add(j < parts.size() - 1 ? part : new Segment(part.text, separator));
+                }
+            } else {
+                segments.add(new Segment(block, separator));
+            }
+        }
+        return segments;
+    }
+
+    /** Reassembles translated segments using the separators of the source segments. */
+    public static String join(List<Segment> segments, String[] translations) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < segments.size(); i++) {
+            if (translations[i] == null) {
+                break;
+            }
+            result.append(translations[i]);
+            // A partial result ends at its last translated segment, without a trailing separator
+            if (i < segments.size() - 1 && translations[i + 1] != null) {
+                result.append(segments.get(i).separator);
+            }
+        }
+        return result.toString();
+    }
+
+    // Cuts text longer than maxBytes at the last space that fits
+    private static void addChunked(List<Segment> segments, String text, String separator, int maxBytes) {
+        int start = 0;
+        int remainingBytes = utf8Length(text, 0, text.length());
+        while (remainingBytes > maxBytes) {
+            int limit = fittingEnd(text, start, maxBytes);
+            int cut = text.lastIndexOf(' ', limit);
+            if (cut <= start) {
+                cut = limit;
+            }
+            segments.add(new Segment(text.substring(start, cut).trim(), " "));
+            int next = cut;
+            while (next < text.length() && text.charAt(next) == ' ') {
+                next++;
+            }
+            remainingBytes -= utf8Length(text, start, next);
+            start = next;
+        }
+        if (start < text.length()) {
+            segments.add(new Segment(text.substring(start), separator));
+        }
+    }
+
+    // End of the longest run of whole code points from start that fits in maxBytes; at least one
+    private static int fittingEnd(String text, int start, int maxBytes) {
+        int end = start;
+        int bytes = 0;
+        while (end < text.length()) {
+            int codePoint = text.codePointAt(end);
+            bytes += utf8Length(codePoint);
+            if (bytes > maxBytes) {
+                break;
+            }
+            end += Character.charCount(codePoint);
+        }
+        return end > start ? end : start + Character.charCount(text.codePointAt(start));
+    }
+
+    static int utf8Length(CharSequence text, int start, int end) {
+        int bytes = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static int utf8Length(int codePoint) {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+}
@@ -0,0 +1,98 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/** Trigram and edit-distance helpers for fuzzy translation memory lookups. */
+public final class TextSimilarity {
+    private TextSimilarity() {
+    }
+
+    /** Distinct case-folded trigrams of the text, padded so short words still produce grams. */
+    public static Set<String> trigrams(String text) {
+        String padded = " " + text.toLowerCase(Locale.ROOT) + " ";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Edits tolerated for a text of this length: one misread character for short text,
+     * roughly one per ten characters beyond that.
+     */
+    public static int maxEditsFor(int length) {
+        return Math.max(1, length / 10);
+    }
+
+    /**
+     * Whether both texts contain the same digits in the same order. A misread letter is
+     * harmless to reuse, but "Gate 12" and "Gate 13" are different signs however close.
+     */
+    public static boolean sameDigits(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (true) {
+            while (i < a.length() && !Character.isDigit(a.charAt(i))) {
+                i++;
+            }
+            while (j < b.length() && !Character.isDigit(b.charAt(j))) {
+                j++;
+            }
+            if (i == a.length() || j == b.length()) {
+                return i == a.length() && j == b.length();
+            }
+            if (a.charAt(i++) != b.charAt(j++)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Case-insensitive Levenshtein distance, or {@code max + 1} as soon as it is known to
+     * exceed {@code max}. Runs in O(n * max) instead of O(n * m).
+     */
+    public static int boundedEditDistance(String a, String b, int max) {
+        a = a.toLowerCase(Locale.ROOT);
+        b = b.toLowerCase(Locale.ROOT);
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        int outside = max + 1;
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= max ? j : outside;
+        }
+        for (int i = 1; i <= n; i++) {
+            // Only cells within max of the diagonal can stay under the bound
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : outside;
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                current[j] = Math.min(value, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > max) {
+                return outside;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], outside);
+    }
+}
@@ -0,0 +1,27 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import okhttp3.Call;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * A remote translation API. {@link TranslationService} owns caching, coalescing and
+ * threading; a backend only knows how to build a call and read its response, so it can be
+ * swapped for a local stand-in server in tests and benchmarks.
+ */
+public interface TranslationBackend {
+    String getName();
+
+    /** Creates, but does not execute, the call translating already-validated text. */
+    Call newCall(String text, String sourceLangCode, String targetLangCode);
+
+    /**
+     * A request with no useful result that opens a connection to the API host, so the TLS
+     * handshake is done before the first translation.
+     */
+    Call newWarmUpCall();
+
+    /** Reads a successful HTTP response. */
+    MyMemoryResponse parseResponse(Response response) throws IOException;
+}
@@ -0,0 +1,332 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache for finished translations: a size-bounded in-memory LRU in front of
+ * a persistent directory of one file per entry. Keys are built with {@link #key}.
+ * Expired entries are misses for {@link #get} but stay until they are evicted or replaced,
+ * so {@link #getStale} can still serve them while the backend is unavailable.
+ */
+public class TranslationCache {
+    public static final int DEFAULT_MEMORY_ENTRIES = 256;
+    public static final int DEFAULT_DISK_ENTRIES = 2000;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private static final int DISK_FORMAT_VERSION = 1;
+
+    private final File diskDir;
+    private final int maxDiskEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, CacheEntry> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    // -1 until the disk tier has been listed once
+    private final AtomicInteger diskEntryCount = new AtomicInteger(-1);
+
+    private static final class CacheEntry {
+        final String value;
+        final long createdAt;
+
+        CacheEntry(String value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /** Point-in-time view of the cache counters. */
+    public static final class Stats {
+        public final long memoryHits;
+        public final long diskHits;
+        public final long misses;
+        public final long evictions;
+        public final int memorySize;
+
+        Stats(long memoryHits, long diskHits, long misses, long evictions, int memorySize) {
+            this.memoryHits = memoryHits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.memorySize = memorySize;
+        }
+
+        public long hits() {
+            return memoryHits + diskHits;
+        }
+
+        public double hitRatio() {
+            long total = hits() + misses;
+            return total == 0 ? 0.0 : (double) hits() / total;
+        }
+
+        @Override
+        public String toString() {
+            return "memoryHits=" + memoryHits + " diskHits=" + diskHits + " misses=" + misses
+                    + " evictions=" + evictions + " memorySize=" + memorySize;
+        }
+    }
+
+    /** Memory-only cache, used until a disk directory is available. */
+    public TranslationCache() {
+        this(null, DEFAULT_MEMORY_ENTRIES, DEFAULT_DISK_ENTRIES, DEFAULT_TTL_MILLIS);
+    }
+
+    public TranslationCache(File diskDir) {
+        this(diskDir, DEFAULT_MEMORY_ENTRIES, DEFAULT_DISK_ENTRIES, DEFAULT_TTL_MILLIS);
+    }
+
+    public TranslationCache(File diskDir, final int maxMemoryEntries, int maxDiskEntries, long ttlMillis) {
+        this.diskDir = diskDir;
+        this.maxDiskEntries = maxDiskEntries;
+        this.ttlMillis = ttlMillis;
+        this.memory = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > maxMemoryEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        if (diskDir != null && !diskDir.isDirectory() && !diskDir.mkdirs()) {
+            throw new IllegalArgumentException("Cannot create cache directory " + diskDir);
+        }
+    }
+
+    public static String key(String normalizedText, String sourceLangCode, String targetLangCode) {
+        return sourceLangCode + '|' + targetLangCode + '|' + normalizedText;
+    }
+
+    /** Memory tier only; never touches the disk, so it is safe to call on the main thread. */
+    public String getFromMemory(String key) {
+        String value = lookupMemory(key, false);
+        if (value != null) {
+            memoryHits.incrementAndGet();
+        }
+        return value;
+    }
+
+    /** Memory tier, then disk tier. Disk hits are promoted into memory. */
+    public String get(String key) {
+        String value = lookupMemory(key, false);
+        if (value != null) {
+            memoryHits.incrementAndGet();
+            return value;
+        }
+        CacheEntry entry = readDisk(key, false);
+        if (entry != null) {
+            synchronized (memory) {
+                memory.put(key, entry);
+            }
+            diskHits.incrementAndGet();
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Like {@link #get} but also returns expired entries; a fallback for when a fresh
+     * translation cannot be fetched. Does not count towards the hit statistics.
+     */
+    public String getStale(String key) {
+        String value = lookupMemory(key, true);
+        if (value != null) {
+            return value;
+        }
+        CacheEntry entry = readDisk(key, true);
+        return entry != null ? entry.value : null;
+    }
+
+    public void put(String key, String value) {
+        CacheEntry entry = new CacheEntry(value, System.currentTimeMillis());
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        writeDisk(key, entry);
+    }
+
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        File[] files = listDiskFiles();
+        for (File file : files) {
+            file.delete();
+        }
+        diskEntryCount.set(0);
+    }
+
+    public Stats getStats() {
+        int size;
+        synchronized (memory) {
+            size = memory.size();
+        }
+        return new Stats(memoryHits.get(), diskHits.get(), misses.get(), evictions.get(), size);
+    }
+
+    private String lookupMemory(String key, boolean allowExpired) {
+        synchronized (memory) {
+            CacheEntry entry = memory.get(key);
+            if (entry == null || (!allowExpired && isExpired(entry.createdAt))) {
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    private boolean isExpired(long createdAt) {
+        return System.currentTimeMillis() - createdAt > ttlMillis;
+    }
+
+    private CacheEntry readDisk(String key, boolean allowExpired) {
+        if (diskDir == null) {
+            return null;
+        }
+        File file = new File(diskDir, fileName(key));
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() != DISK_FORMAT_VERSION) {
+                deleteDiskFile(file);
+                return null;
+            }
+            long createdAt = in.readLong();
+            String storedKey = readString(in);
+            String value = readString(in);
+            if (!storedKey.equals(key)) {
+                // Hash collision, treat as a miss and leave the other entry alone
+                return null;
+            }
+            if (!allowExpired && isExpired(createdAt)) {
+                return null;
+            }
+            return new CacheEntry(value, createdAt);
+        } catch (IOException e) {
+            deleteDiskFile(file);
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, CacheEntry entry) {
+        if (diskDir == null) {
+            return;
+        }
+        File file = new File(diskDir, fileName(key));
+        File tmp = new File(diskDir, file.getName() + ".tmp");
+        boolean existed = file.exists();
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(tmp))) {
+            out.writeInt(DISK_FORMAT_VERSION);
+            out.writeLong(entry.createdAt);
+            writeString(out, key);
+            writeString(out, entry.value);
+        } catch (IOException e) {
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            return;
+        }
+        if (!existed && incrementDiskCount() > maxDiskEntries) {
+            trimDisk();
+        }
+    }
+
+    private int incrementDiskCount() {
+        // The first write lists the directory once; the listing already includes the new file
+        if (diskEntryCount.get() < 0 && diskEntryCount.compareAndSet(-1, listDiskFiles().length)) {
+            return diskEntryCount.get();
+        }
+        return diskEntryCount.incrementAndGet();
+    }
+
+    // Drops the least recently written entries down to 90% of the disk budget
+    private synchronized void trimDisk() {
+        File[] files = listDiskFiles();
+        int target = maxDiskEntries * 9 / 10;
+        if (files.length <= target) {
+            diskEntryCount.set(files.length);
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        int remaining = files.length;
+        for (int i = 0; i < files.length && remaining > target; i++) {
+            if (files[i].delete()) {
+                remaining--;
+                evictions.incrementAndGet();
+            }
+        }
+        diskEntryCount.set(remaining);
+    }
+
+    private void deleteDiskFile(File file) {
+        if (file.delete()) {
+            diskEntryCount.updateAndGet(count -> count > 0 ? count - 1 : count);
+        }
+    }
+
+    private File[] listDiskFiles() {
+        if (diskDir == null) {
+            return new File[0];
+        }
+        File[] files = diskDir.listFiles((dir, name) -> !name.endsWith(".tmp"));
+        return files != null ? files : new File[0];
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Corrupt cache entry");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String fileName(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16));
+                name.append(Character.forDigit(b & 0xF, 16));
+            }
+            return name.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.jethers.mobcompfinalproject.translation;
+
+/**
+ * Decides when an as-you-type translation should start. Each edit pushes the start back
+ * until the text has been quiet for a short while. Starts are also kept at least a minimum
+ * interval apart, so the request rate stays bounded however fast or unevenly the user
+ * types. Use from one thread.
+ */
+public final class TranslationDebouncer {
+    public static final long DEFAULT_QUIET_MS = 400;
+    public static final long DEFAULT_MIN_INTERVAL_MS = 1000;
+
+    private final long quietMs;
+    private final long minIntervalMs;
+    private long lastStartMs = Long.MIN_VALUE;
+    private long started;
+
+    public TranslationDebouncer() {
+        this(DEFAULT_QUIET_MS, DEFAULT_MIN_INTERVAL_MS);
+    }
+
+    public TranslationDebouncer(long quietMs, long minIntervalMs) {
+        this.quietMs = quietMs;
+        this.minIntervalMs = minIntervalMs;
+    }
+
+    /** Milliseconds from an edit made at {@code nowMs} until its translation should start. */
+    public long delayAfterEdit(long nowMs) {
+        if (lastStartMs == Long.MIN_VALUE) {
+            return quietMs;
+        }
+        return Math.max(quietMs, lastStartMs + minIntervalMs - nowMs);
+    }
+
+    /** Records that a translation request was started at {@code nowMs}. */
+    public void onStarted(long nowMs) {
+        lastStartMs = nowMs;
+        started++;
+    }
+
+    public long getStartedCount() {
+        return started;
+    }
+}
@@ -0,0 +1,62 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded thread pool that runs translation network calls. Unlike the serial
+ * AsyncTask executor, requests issued close together run concurrently; once the
+ * queue is full new work is rejected instead of piling up behind a slow backend.
+ */
+public final class TranslationExecutor {
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private TranslationExecutor() {
+    }
+
+    public static ThreadPoolExecutor newBounded() {
+        return newBounded(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public static ThreadPoolExecutor newBounded(int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(queueCapacity),
+                new NamedThreadFactory("translation"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Idle workers are released so the pool costs nothing between translations
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /** Number of tasks waiting for a worker, or 0 for executors that don't expose a queue. */
+    public static int queueDepth(ExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        return 0;
+    }
+
+    static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
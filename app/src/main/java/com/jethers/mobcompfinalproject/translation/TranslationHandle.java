@@ -0,0 +1,73 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import java.util.List;
+
+/**
+ * Returned by {@link TranslationService#translateText}. Cancelling detaches the caller's
+ * callback; the network call itself is cancelled once no other caller is waiting on it.
+ * Callbacks are delivered on the main thread and never after {@link #cancel()} returns
+ * there.
+ */
+public class TranslationHandle {
+    private final TranslationService.TranslationCallback callback;
+    private final SingleFlight<TranslationHandle> flights;
+    private final String key;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+
+    TranslationHandle(TranslationService.TranslationCallback callback,
+                      SingleFlight<TranslationHandle> flights, String key) {
+        this.callback = callback;
+        this.flights = flights;
+        this.key = key;
+    }
+
+    public void cancel() {
+        if (cancelled || done) {
+            return;
+        }
+        cancelled = true;
+        if (flights != null && key != null) {
+            flights.leave(key, this);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    // For subclasses that report to their own callback: true if this call completed the handle
+    boolean markDone() {
+        if (cancelled || done) {
+            return false;
+        }
+        done = true;
+        return true;
+    }
+
+    void deliver(String result, Exception error) {
+        deliver(result, null, error);
+    }
+
+    void deliver(String result, List<MyMemoryResponse.Match> alternatives, Exception error) {
+        if (cancelled || done) {
+            return;
+        }
+        done = true;
+        if (error == null && alternatives != null && !alternatives.isEmpty()
+                && callback instanceof TranslationService.AlternativesCallback) {
+            ((TranslationService.AlternativesCallback) callback).onAlternatives(alternatives);
+        }
+        if (error != null) {
+            callback.onTranslationError(error);
+        } else if (result != null) {
+            callback.onTranslationComplete(result);
+        } else {
+            callback.onTranslationError(new Exception("Translation failed"));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the OkHttp client shared by all translation backends. Translations are small and
+ * bursty, so the pool keeps a few connections alive long enough for the next tap to reuse
+ * them, and every call is counted so reuse can be checked in the field.
+ */
+public final class TranslationHttpClient {
+    public static final int MAX_IDLE_CONNECTIONS = 5;
+    public static final long KEEP_ALIVE_MINUTES = 5;
+    public static final long CONNECT_TIMEOUT_SECONDS = 10;
+    public static final long READ_TIMEOUT_SECONDS = 15;
+    public static final long CALL_TIMEOUT_SECONDS = 30;
+    public static final long HTTP_CACHE_BYTES = 5L * 1024 * 1024;
+
+    private static final ConnectionStats STATS = new ConnectionStats();
+
+    private TranslationHttpClient() {
+    }
+
+    /** @param cacheDir parent directory for the HTTP response cache, or null for none */
+    public static OkHttpClient create(File cacheDir) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                // HTTP/2 is negotiated over TLS where the server offers it
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .eventListener(STATS);
+        if (cacheDir != null) {
+            // Honours the server's cache headers; TranslationCache handles app-level caching
+            builder.cache(new Cache(new File(cacheDir, "http"), HTTP_CACHE_BYTES));
+        }
+        return builder.build();
+    }
+
+    public static ConnectionStats getConnectionStats() {
+        return STATS;
+    }
+
+    /** Counts calls and new connections across every client built here. */
+    public static final class ConnectionStats extends EventListener {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failedCalls = new AtomicLong();
+        private final AtomicLong connectionsOpened = new AtomicLong();
+        private final AtomicLong connectionsAcquired = new AtomicLong();
+
+        @Override
+        public void callStart(Call call) {
+            calls.incrementAndGet();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            failedCalls.incrementAndGet();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectionsOpened.incrementAndGet();
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            connectionsAcquired.incrementAndGet();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            TranslationMetrics.getInstance().recordResponseBytes(byteCount);
+        }
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getFailedCalls() {
+            return failedCalls.get();
+        }
+
+        public long getConnectionsOpened() {
+            return connectionsOpened.get();
+        }
+
+        public long getConnectionsAcquired() {
+            return connectionsAcquired.get();
+        }
+
+        /** Fraction of acquired connections that came from the pool instead of a new connect. */
+        public double getReuseRatio() {
+            long acquired = connectionsAcquired.get();
+            if (acquired == 0) {
+                return 0.0;
+            }
+            return Math.max(0.0, 1.0 - (double) connectionsOpened.get() / acquired);
+        }
+
+        @Override
+        public String toString() {
+            return "calls=" + getCalls() + " failed=" + getFailedCalls() + " opened=" + getConnectionsOpened()
+                    + " acquired=" + getConnectionsAcquired() + " reuse=" + getReuseRatio();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.jethers.mobcompfinalproject.translation;
+
+/**
+ * Local store of past translations that {@link TranslationService} consults after its
+ * caches miss and before going to the network. Texts passed in are already normalized.
+ */
+public interface TranslationMemory {
+    /** The stored translation of exactly this text, or null. Called on a worker thread. */
+    String lookup(String normalizedText, String sourceLangCode, String targetLangCode);
+
+    /**
+     * The translation of a near-identical stored text, or null. Only consulted for OCR
+     * output, where a misread character should not cost a request. Called on a worker thread.
+     */
+    String lookupSimilar(String normalizedText, String sourceLangCode, String targetLangCode);
+
+    /** Records a translation received from the backend. Called on a worker thread. */
+    void store(String normalizedText, String translatedText, String sourceLangCode, String targetLangCode);
+}
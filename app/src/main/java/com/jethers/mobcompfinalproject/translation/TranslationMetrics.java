@@ -0,0 +1,259 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process counters for the translation path: latency per language pair, where answers
+ * came from, error counts by cause and payload sizes. Recording is lock-free and cheap
+ * enough to leave on in release builds; {@link TranslationService#getMetricsSnapshot()}
+ * combines it with the cache, queue and connection gauges.
+ */
+public final class TranslationMetrics {
+    /** Where a completed request was answered from. */
+    public enum Source {
+        MEMORY_CACHE, DISK_CACHE, TRANSLATION_MEMORY, NETWORK,
+        // An expired cache entry served because the backend failed or the circuit was open
+        STALE_CACHE
+    }
+
+    public static final String ERROR_TIMEOUT = "timeout";
+    public static final String ERROR_NETWORK = "network";
+    public static final String ERROR_PARSE = "parse";
+    public static final String ERROR_REJECTED = "rejected";
+    public static final String ERROR_CANCELLED = "cancelled";
+    public static final String ERROR_CIRCUIT_OPEN = "circuit_open";
+    public static final String ERROR_OTHER = "other";
+
+    private static final TranslationMetrics INSTANCE = new TranslationMetrics();
+
+    private final ConcurrentMap<String, Histogram> latencyByPair = new ConcurrentHashMap<>();
+    private final Histogram networkLatency = new Histogram();
+    private final Histogram queueWait = new Histogram();
+    private final Histogram requestChars = new Histogram();
+    private final Histogram responseBytes = new Histogram();
+    private final Histogram detectionLatency = new Histogram();
+    private final AtomicLong detectionCacheHits = new AtomicLong();
+    private final AtomicLong detectionTimeouts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final AtomicLong[] sources = new AtomicLong[Source.values().length];
+
+    TranslationMetrics() {
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new AtomicLong();
+        }
+    }
+
+    public static TranslationMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /** Time from request to result, in milliseconds, for a request answered from {@code source}. */
+    public void recordLatency(String sourceLangCode, String targetLangCode, Source source, long millis) {
+        String pair = sourceLangCode + '|' + targetLangCode;
+        Histogram histogram = latencyByPair.get(pair);
+        if (histogram == null) {
+            Histogram created = new Histogram();
+            histogram = latencyByPair.putIfAbsent(pair, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        histogram.record(millis);
+        sources[source.ordinal()].incrementAndGet();
+    }
+
+    /** Duration of the HTTP call alone, in milliseconds. */
+    public void recordNetworkLatency(long millis) {
+        networkLatency.record(millis);
+    }
+
+    /** Network latency so far; the hedging delay is derived from its p95. */
+    public Histogram.Snapshot getNetworkLatency() {
+        return networkLatency.snapshot();
+    }
+
+    /** Counts a network call repeated after a transient failure. */
+    public void recordRetry() {
+        retries.incrementAndGet();
+    }
+
+    /** Counts a duplicate call sent for a slow request, and whether it answered first. */
+    public void recordHedge(boolean won) {
+        hedges.incrementAndGet();
+        if (won) {
+            hedgeWins.incrementAndGet();
+        }
+    }
+
+    /** Time a request spent queued before a worker picked it up, in milliseconds. */
+    public void recordQueueWait(long millis) {
+        queueWait.record(millis);
+    }
+
+    public void recordRequestChars(int chars) {
+        requestChars.record(chars);
+    }
+
+    public void recordResponseBytes(long bytes) {
+        responseBytes.record(bytes);
+    }
+
+    /** Time spent identifying the source language, in milliseconds; 0 for cache hits. */
+    public void recordDetection(long millis, boolean cached) {
+        detectionLatency.record(millis);
+        if (cached) {
+            detectionCacheHits.incrementAndGet();
+        }
+    }
+
+    /** Counts a detection that ran past its budget and fell back to the default language. */
+    public void recordDetectionTimeout() {
+        detectionTimeouts.incrementAndGet();
+    }
+
+    /** Counts a failure; {@code cause} is one of the ERROR_ constants or "http_404", "api_429" style codes. */
+    public void recordError(String cause) {
+        AtomicLong counter = errors.get(cause);
+        if (counter == null) {
+            AtomicLong created = new AtomicLong();
+            counter = errors.putIfAbsent(cause, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        counter.incrementAndGet();
+    }
+
+    /** Error cause for an exception thrown while fetching a translation. */
+    public static String causeOf(Exception e) {
+        // Covers SocketTimeoutException and OkHttp's call timeout
+        if (e instanceof InterruptedIOException) {
+            return ERROR_TIMEOUT;
+        }
+        // JsonReader reports unexpected tokens as IllegalStateException
+        if (e instanceof JsonParseException || e instanceof IllegalStateException) {
+            return ERROR_PARSE;
+        }
+        if (e instanceof IOException) {
+            return ERROR_NETWORK;
+        }
+        return ERROR_OTHER;
+    }
+
+    /** Copies the counters; gauges owned by other components are passed in. */
+    public Snapshot snapshot(TranslationCache.Stats cacheStats, int queueDepth, int inFlight,
+                             TranslationHttpClient.ConnectionStats connectionStats) {
+        Map<String, Histogram.Snapshot> latency = new TreeMap<>();
+        for (Map.Entry<String, Histogram> entry : latencyByPair.entrySet()) {
+            latency.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        Map<String, Long> errorCounts = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : errors.entrySet()) {
+            errorCounts.put(entry.getKey(), entry.getValue().get());
+        }
+        Map<Source, Long> sourceCounts = new EnumMap<>(Source.class);
+        for (Source source : Source.values()) {
+            sourceCounts.put(source, sources[source.ordinal()].get());
+        }
+        return new Snapshot(latency, networkLatency.snapshot(), queueWait.snapshot(), requestChars.snapshot(),
+                responseBytes.snapshot(), detectionLatency.snapshot(), detectionCacheHits.get(),
+                detectionTimeouts.get(), retries.get(), hedges.get(), hedgeWins.get(), errorCounts, sourceCounts, cacheStats, queueDepth, inFlight,
+                connectionStats);
+    }
+
+    /** Immutable view of every translation metric at one point in time. */
+    public static final class Snapshot {
+        public final Map<String, Histogram.Snapshot> latencyByPair;
+        public final Histogram.Snapshot networkLatency;
+        public final Histogram.Snapshot queueWait;
+        public final Histogram.Snapshot requestChars;
+        public final Histogram.Snapshot responseBytes;
+        public final Histogram.Snapshot detectionLatency;
+        public final long detectionCacheHits;
+        public final long detectionTimeouts;
+        public final long retries;
+        public final long hedges;
+        public final long hedgeWins;
+        public final Map<String, Long> errors;
+        public final Map<Source, Long> sources;
+        public final TranslationCache.Stats cache;
+        public final int queueDepth;
+        public final int inFlight;
+        public final long calls;
+        public final long failedCalls;
+        public final double connectionReuse;
+
+        Snapshot(Map<String, Histogram.Snapshot> latencyByPair, Histogram.Snapshot networkLatency,
+                 Histogram.Snapshot queueWait, Histogram.Snapshot requestChars, Histogram.Snapshot responseBytes,
+                 Histogram.Snapshot detectionLatency, long detectionCacheHits, long detectionTimeouts,
+                 long retries, long hedges, long hedgeWins,
+                 Map<String, Long> errors, Map<Source, Long> sources, TranslationCache.Stats cache,
+                 int queueDepth, int inFlight, TranslationHttpClient.ConnectionStats connectionStats) {
+            this.latencyByPair = latencyByPair;
+            this.networkLatency = networkLatency;
+            this.queueWait = queueWait;
+            this.requestChars = requestChars;
+            this.responseBytes = responseBytes;
+            this.detectionLatency = detectionLatency;
+            this.detectionCacheHits = detectionCacheHits;
+            this.detectionTimeouts = detectionTimeouts;
+            this.retries = retries;
+            this.hedges = hedges;
+            this.hedgeWins = hedgeWins;
+            this.errors = errors;
+            this.sources = sources;
+            this.cache = cache;
+            this.queueDepth = queueDepth;
+            this.inFlight = inFlight;
+            this.calls = connectionStats.getCalls();
+            this.failedCalls = connectionStats.getFailedCalls();
+            this.connectionReuse = connectionStats.getReuseRatio();
+        }
+
+        public long totalErrors() {
+            long total = 0;
+            for (long count : errors.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        /** Multi-line report, one metric per line, for logcat or a debug screen. */
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            for (Map.Entry<String, Histogram.Snapshot> entry : latencyByPair.entrySet()) {
+                out.append("latency_ms[").append(entry.getKey()).append("] ").append(entry.getValue()).append('\n');
+            }
+            out.append("network_ms ").append(networkLatency).append('\n')
+                    .append("queue_wait_ms ").append(queueWait).append('\n')
+                    .append("request_chars ").append(requestChars).append('\n')
+                    .append("response_bytes ").append(responseBytes).append('\n')
+                    .append("detect_ms ").append(detectionLatency).append(" cacheHits=").append(detectionCacheHits)
+                    .append(" timeouts=").append(detectionTimeouts).append('\n')
+                    .append("sources ").append(sources).append('\n')
+                    .append("retries=").append(retries).append(" hedges=").append(hedges)
+                    .append(" hedgeWins=").append(hedgeWins).append('\n')
+                    .append("errors ").append(errors).append('\n')
+                    .append("cache ").append(cache).append(String.format(Locale.ROOT,
+                            " hitRatio=%.3f", cache.hitRatio())).append('\n')
+                    .append("queue depth=").append(queueDepth).append(" inFlight=").append(inFlight).append('\n')
+                    .append("http calls=").append(calls).append(" failed=").append(failedCalls)
+                    .append(String.format(Locale.ROOT, " reuse=%.3f", connectionReuse));
+            return out.toString();
+        }
+    }
+}
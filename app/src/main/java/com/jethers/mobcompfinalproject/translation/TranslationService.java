@@ -1,152 +1,541 @@
 package com.jethers.mobcompfinalproject.translation;
 
-import android.os.AsyncTask;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import okhttp3.*;
+import java.io.File;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class TranslationService {
     private static final String TAG = "TranslationService";
-    private static final OkHttpClient client = new OkHttpClient();
-    private static final Gson gson = new Gson();
-
-    private static final Map<String, String> LANGUAGE_CODES = new HashMap<String, String>() {{
-        put("English", "en");
-        put("Spanish", "es");
-        put("French", "fr");
-        put("German", "de");
-        put("Italian", "it");
-        put("Portuguese", "pt");
-        put("Russian", "ru");
-        put("Chinese", "zh");
-        put("Japanese", "ja");
-        put("Korean", "ko");
-    }};
-
-    private static final Map<String, String> LANGUAGE_NAMES = new HashMap<String, String>() {{
-        put("en", "English");
-        put("es", "Spanish");
-        put("fr", "French");
-        put("de", "German");
-        put("it", "Italian");
-        put("pt", "Portuguese");
-        put("ru", "Russian");
-        put("zh", "Chinese");
-        put("ja", "Japanese");
-        put("ko", "Korean");
-    }};
+    private static volatile TranslationBackend backend = new MyMemoryBackend(TranslationHttpClient.create(null));
+    private static volatile TranslationCache cache = new TranslationCache();
+    private static final SingleFlight<TranslationHandle> inFlight = new SingleFlight<>();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static volatile ExecutorService executor = TranslationExecutor.newBounded();
+    private static volatile TranslationMemory translationMemory;
+    private static final TranslationMetrics metrics = TranslationMetrics.getInstance();
+    private static volatile RetryPolicy retryPolicy = new RetryPolicy();
+    private static volatile CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private static volatile boolean hedgingEnabled = true;
+
+    // Hedging waits for the observed p95 network latency, once there are enough samples to know it
+    private static final int MIN_HEDGE_SAMPLES = 20;
+    private static final long MIN_HEDGE_DELAY_MILLIS = 200;
+
+    // Leaves executor capacity for other screens while a long text or a batch is being translated
+    public static final int MAX_PARALLEL_SEGMENTS = 3;
+
+    // Keeps OCR flights apart from exact ones for the same text
+    private static final String RECOGNIZED_FLIGHT_SUFFIX = "\u0000ocr";
 
     public interface TranslationCallback {
         void onTranslationComplete(String translatedText);
         void onTranslationError(Exception e);
     }
 
-    private static String buildTranslationUrl(String text, String sourceLang, String targetLang) {
-        try {
-            // Enhanced text cleaning for better translation accuracy
-            String cleanedText = text.trim()
-                               .replaceAll("\\s+", " ")  // Replace multiple spaces with single space
-                               .replaceAll("[\\p{Punct}&&[^',.!?]]", ""); // Keep essential punctuation
-
-            String encodedText = URLEncoder.encode(cleanedText, "UTF-8");
-            
-            // Add additional parameters for better translation quality
-            return String.format(
-                "https://api.mymemory.translated.net/get?q=%s&langpair=%s|%s&de=example@email.com&mt=1",
-                encodedText, sourceLang, targetLang
-            );
-        } catch (UnsupportedEncodingException e) {
-            Log.e(TAG, "Error encoding text: " + e.getMessage());
+    public interface SegmentedTranslationCallback extends TranslationCallback {
+        // Called as segments finish with the translated text of the leading finished segments
+        void onPartialTranslation(String partialText, int completedSegments, int totalSegments);
+    }
+
+    public interface BatchTranslationCallback {
+        // One result per input, in input order; failed items carry their own error
+        void onBatchComplete(List<BatchResult> results);
+    }
+
+    public interface AlternativesCallback extends TranslationCallback {
+        // Called before onTranslationComplete with MyMemory's top matches; not called for cached results
+        void onAlternatives(List<MyMemoryResponse.Match> matches);
+    }
+
+    /**
+     * Enables the persistent cache tier. Call once from {@link android.app.Application#onCreate()};
+     * until then translations are only cached in memory.
+     */
+    public static void init(Context context) {
+        cache = new TranslationCache(new File(context.getCacheDir(), "translations"));
+        backend = new MyMemoryBackend(TranslationHttpClient.create(context.getCacheDir()));
+    }
+
+    /** Replaces the remote API, e.g. with one pointed at a local mock server. */
+    public static void setBackend(TranslationBackend backend) {
+        TranslationService.backend = backend;
+    }
+
+    public static TranslationBackend getBackend() {
+        return backend;
+    }
+
+    public static TranslationCache getCache() {
+        return cache;
+    }
+
+    /** Local store consulted after the caches miss, e.g. the app's {@code Database}. */
+    public static void setTranslationMemory(TranslationMemory memory) {
+        translationMemory = memory;
+    }
+
+    private static String cacheKey(String text, String sourceLanguage, String targetLanguage) {
+        String sourceLangCode = getLanguageCode(sourceLanguage);
+        String targetLangCode = getLanguageCode(targetLanguage);
+        if (text == null || sourceLangCode == null || targetLangCode == null) {
             return null;
         }
+        return TranslationCache.key(TextNormalizer.normalize(text), sourceLangCode, targetLangCode);
     }
 
-    public static void translateText(String text, String sourceLanguage, String targetLanguage, TranslationCallback callback) {
-        new AsyncTask<Void, Void, String>() {
-            private Exception exception;
+    /**
+     * Opens a pooled connection to the backend ahead of the first translation. The callback
+     * runs on the main thread whether or not the connection could be made.
+     */
+    public static void warmUp(Runnable onComplete) {
+        backend.newWarmUpCall().enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                mainHandler.post(onComplete);
+            }
 
             @Override
-            protected String doInBackground(Void... params) {
-                try {
-                    String sourceLangCode = getLanguageCode(sourceLanguage);
-                    String targetLangCode = getLanguageCode(targetLanguage);
+            public void onFailure(Call call, IOException e) {
+                Log.w(TAG, "Backend warm-up failed: " + e.getMessage());
+                mainHandler.post(onComplete);
+            }
+        });
+    }
 
-                    if (sourceLangCode == null || targetLangCode == null) {
-                        throw new Exception("Invalid language code");
-                    }
+    /** Current latency, error, payload, cache and queue figures for the whole translation path. */
+    public static TranslationMetrics.Snapshot getMetricsSnapshot() {
+        return metrics.snapshot(cache.getStats(), TranslationExecutor.queueDepth(executor), inFlight.inFlight(),
+                TranslationHttpClient.getConnectionStats());
+    }
 
-                    String url = buildTranslationUrl(text, sourceLangCode, targetLangCode);
-                    if (url == null) {
-                        throw new Exception("Failed to build URL");
-                    }
+    /** Writes the metrics snapshot to logcat, one line per metric. */
+    public static void logMetrics() {
+        for (String line : getMetricsSnapshot().toString().split("\n")) {
+            Log.i(TAG, line);
+        }
+    }
 
-                    Request request = new Request.Builder()
-                            .url(url)
-                            .addHeader("Accept", "application/json")
-                            .build();
-
-                    try (Response response = client.newCall(request).execute()) {
-                        if (!response.isSuccessful()) {
-                            throw new IOException("Unexpected response " + response);
-                        }
-
-                        String responseData = response.body().string();
-                        JsonObject jsonResponse = gson.fromJson(responseData, JsonObject.class);
-                        
-                        if (jsonResponse.has("responseData") && 
-                            jsonResponse.getAsJsonObject("responseData").has("translatedText")) {
-                            
-                            JsonObject responseObj = jsonResponse.getAsJsonObject("responseData");
-                            String translatedText = responseObj.get("translatedText").getAsString();
-                            
-                            // Check for translation quality
-                            if (jsonResponse.has("responseStatus")) {
-                                int status = jsonResponse.get("responseStatus").getAsInt();
-                                if (status < 200 || status >= 300) {
-                                    Log.w(TAG, "Translation may not be optimal. Status: " + status);
-                                }
-                            }
-
-                            return translatedText;
-                        } else {
-                            throw new Exception("Invalid response format");
-                        }
-                    }
-                } catch (Exception e) {
-                    Log.e(TAG, "Translation error: " + e.getMessage());
-                    this.exception = e;
-                    return null;
+    /** Retries for failed network calls; {@link RetryPolicy#noRetries()} turns them off. */
+    public static void setRetryPolicy(RetryPolicy policy) {
+        retryPolicy = policy;
+    }
+
+    /** Replaces the breaker guarding the backend, e.g. with one on a fake clock in tests. */
+    public static void setCircuitBreaker(CircuitBreaker breaker) {
+        circuitBreaker = breaker;
+    }
+
+    public static CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /** Whether a slow network call is duplicated after the p95 latency; on by default. */
+    public static void setHedgingEnabled(boolean enabled) {
+        hedgingEnabled = enabled;
+    }
+
+    /** Sets the pool that runs translation calls; tasks already queued on the old one still finish. */
+    public static void setExecutor(ExecutorService executor) {
+        TranslationService.executor = executor;
+    }
+
+    public static TranslationHandle translateText(String text, String sourceLanguage, String targetLanguage, TranslationCallback callback) {
+        return translate(text, sourceLanguage, targetLanguage, false, callback);
+    }
+
+    /**
+     * Like {@link #translateText} for text read by OCR, which may also be answered with the
+     * remembered translation of a near-identical text, e.g. one with a misread character.
+     */
+    public static TranslationHandle translateRecognizedText(String text, String sourceLanguage, String targetLanguage,
+                                                            TranslationCallback callback) {
+        return translate(text, sourceLanguage, targetLanguage, true, callback);
+    }
+
+    private static TranslationHandle translate(String text, String sourceLanguage, String targetLanguage,
+                                               boolean recognizedText, TranslationCallback callback) {
+        final TranslationCache cache = TranslationService.cache;
+        final String cacheKey = cacheKey(text, sourceLanguage, targetLanguage);
+
+        if (cacheKey == null) {
+            TranslationHandle handle = new TranslationHandle(callback, null, null);
+            mainHandler.post(() -> handle.deliver(null, new Exception("Invalid language code")));
+            return handle;
+        }
+
+        // A fuzzy answer must not reach exact callers, so OCR requests share flights only
+        // with each other
+        String flightKey = recognizedText ? cacheKey + RECOGNIZED_FLIGHT_SUFFIX : cacheKey;
+        TranslationHandle handle = new TranslationHandle(callback, inFlight, flightKey);
+
+        // Memory hits skip the network but are still delivered after this returns, like any
+        // other result, so callers can keep the handle before their callback runs
+        String cached = cache.getFromMemory(cacheKey);
+        if (cached != null) {
+            metrics.recordLatency(getLanguageCode(sourceLanguage), getLanguageCode(targetLanguage),
+                    TranslationMetrics.Source.MEMORY_CACHE, 0);
+            mainHandler.post(() -> handle.deliver(cached, null));
+            return handle;
+        }
+
+        // Identical requests already on the wire get the same result instead of a new call
+        SingleFlight.Flight<TranslationHandle> flight = inFlight.join(flightKey, handle);
+        if (flight == null) {
+            return handle;
+        }
+
+        TranslationTask task = new TranslationTask(flight, cacheKey, recognizedText, cache, backend,
+                translationMemory, text, getLanguageCode(sourceLanguage), getLanguageCode(targetLanguage));
+        try {
+            task.future = executor.submit(task);
+            inFlight.onAbandoned(flight, task::abort);
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Translation queue full, rejecting request");
+            metrics.recordError(TranslationMetrics.ERROR_REJECTED);
+            task.finish(null, new Exception("Too many pending translations", e));
+        }
+        return handle;
+    }
+
+    /**
+     * Translates long text as sentence segments in parallel and reassembles them in order.
+     * Must be called on the main thread.
+     */
+    public static TranslationHandle translateLongText(String text, String sourceLanguage, String targetLanguage,
+                                                      SegmentedTranslationCallback callback) {
+        return translateSegments(TextSegmenter.split(text), sourceLanguage, targetLanguage, callback);
+    }
+
+    /** Like {@link #translateLongText} for segments that are already split. */
+    public static TranslationHandle translateSegments(List<TextSegmenter.Segment> segments, String sourceLanguage,
+                                                      String targetLanguage, SegmentedTranslationCallback callback) {
+        return startSegments(segments, sourceLanguage, targetLanguage, false, callback);
+    }
+
+    /**
+     * Like {@link #translateSegments} for OCR blocks; each segment is translated as by
+     * {@link #translateRecognizedText}.
+     */
+    public static TranslationHandle translateRecognizedSegments(List<TextSegmenter.Segment> segments,
+                                                                String sourceLanguage, String targetLanguage,
+                                                                SegmentedTranslationCallback callback) {
+        return startSegments(segments, sourceLanguage, targetLanguage, true, callback);
+    }
+
+    private static TranslationHandle startSegments(List<TextSegmenter.Segment> segments, String sourceLanguage,
+                                                   String targetLanguage, boolean recognizedText,
+                                                   SegmentedTranslationCallback callback) {
+        SegmentedTranslation translation = new SegmentedTranslation(segments, sourceLanguage, targetLanguage,
+                recognizedText, MAX_PARALLEL_SEGMENTS, callback);
+        translation.start();
+        return translation;
+    }
+
+    /**
+     * Translates many independent strings, e.g. OCR lines or menu entries, in one call.
+     * Duplicates are sent once and at most {@link #MAX_PARALLEL_SEGMENTS} requests run at a
+     * time. Must be called on the main thread.
+     */
+    public static TranslationHandle translateBatch(List<String> texts, String sourceLanguage, String targetLanguage,
+                                                   BatchTranslationCallback callback) {
+        BatchTranslation batch = new BatchTranslation(texts, sourceLanguage, targetLanguage,
+                MAX_PARALLEL_SEGMENTS, callback);
+        batch.start();
+        return batch;
+    }
+
+    private static MyMemoryResponse fetchTranslation(TranslationTask task) throws Exception {
+        String cached = task.cache.get(task.cacheKey);
+        if (cached != null) {
+            task.source = TranslationMetrics.Source.DISK_CACHE;
+            return new MyMemoryResponse(cached, MyMemoryResponse.STATUS_UNKNOWN, null, null);
+        }
+
+        // Text translated before, or for OCR a near-identical one, e.g. with one misread character
+        String normalizedText = TextNormalizer.normalize(task.text);
+        if (task.memory != null) {
+            String remembered = task.memory.lookup(normalizedText, task.sourceLangCode, task.targetLangCode);
+            if (remembered != null) {
+                task.source = TranslationMetrics.Source.TRANSLATION_MEMORY;
+                task.cache.put(task.cacheKey, remembered);
+                return new MyMemoryResponse(remembered, MyMemoryResponse.STATUS_UNKNOWN, null, null);
+            }
+            if (task.recognizedText) {
+                // Not cached: the cache key names this exact text, not the one matched
+                remembered = task.memory.lookupSimilar(normalizedText, task.sourceLangCode, task.targetLangCode);
+                if (remembered != null) {
+                    task.source = TranslationMetrics.Source.TRANSLATION_MEMORY;
+                    return new MyMemoryResponse(remembered, MyMemoryResponse.STATUS_UNKNOWN, null, null);
                 }
             }
+        }
+
+        task.source = TranslationMetrics.Source.NETWORK;
+        metrics.recordRequestChars(task.text.length());
+        RetryPolicy retryPolicy = TranslationService.retryPolicy;
+        CircuitBreaker circuitBreaker = TranslationService.circuitBreaker;
+        for (int attempt = 1; ; attempt++) {
+            // While the backend is unhealthy, fail fast instead of adding to its load
+            if (!circuitBreaker.allowRequest()) {
+                return staleOrThrow(task, new CircuitOpenException());
+            }
+            Call call = task.backend.newCall(task.text, task.sourceLangCode, task.targetLangCode);
+            try {
+                MyMemoryResponse result = executeCall(task, call, normalizedText);
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (Exception e) {
+                if (task.aborted) {
+                    throw e;
+                }
+                if (!isTransient(e)) {
+                    // The backend answered; the request itself was bad
+                    circuitBreaker.onSuccess();
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                // Only GETs are safe to send twice
+                if (!retryPolicy.shouldRetry(attempt) || !"GET".equals(call.request().method())) {
+                    return staleOrThrow(task, e);
+                }
+                long delay = retryPolicy.backoffMillis(attempt);
+                Log.w(TAG, "Attempt " + attempt + " failed (" + e.getMessage() + "), retrying in " + delay + " ms");
+                metrics.recordRetry();
+                if (task.awaitAbort(delay)) {
+                    throw e;
+                }
+            }
+        }
+    }
 
+    private static MyMemoryResponse executeCall(TranslationTask task, Call call, String normalizedText)
+            throws Exception {
+        HedgedCall.Listener tracker = new HedgedCall.Listener() {
             @Override
-            protected void onPostExecute(String result) {
-                if (exception != null) {
-                    callback.onTranslationError(exception);
-                } else if (result != null) {
-                    callback.onTranslationComplete(result);
+            public void onCallStarted(Call started) {
+                task.track(started);
+            }
+
+            @Override
+            public void onHedgeFinished(boolean hedgeWon) {
+                metrics.recordHedge(hedgeWon);
+            }
+        };
+
+        long callStart = System.nanoTime();
+        try (Response response = HedgedCall.execute(call, hedgeDelayMillis(), tracker)) {
+            if (!response.isSuccessful()) {
+                throw new HttpStatusException(response.code(), "Unexpected response " + response);
+            }
+
+            MyMemoryResponse result = task.backend.parseResponse(response);
+            metrics.recordNetworkLatency(elapsedMillis(callStart));
+
+            // Check for translation quality
+            if (result.getResponseStatus() != MyMemoryResponse.STATUS_UNKNOWN && !result.isStatusOk()) {
+                // Error statuses carry a message in translatedText, so they are not cached
+                Log.w(TAG, "Translation may not be optimal. Status: " + result.getResponseStatus());
+                metrics.recordError("api_" + result.getResponseStatus());
+            } else {
+                task.cache.put(task.cacheKey, result.getTranslatedText());
+                if (task.memory != null) {
+                    task.memory.store(normalizedText, result.getTranslatedText(),
+                            task.sourceLangCode, task.targetLangCode);
+                }
+            }
+            return result;
+        }
+    }
+
+    // An expired cache entry beats an error when no fresh translation can be had
+    private static MyMemoryResponse staleOrThrow(TranslationTask task, Exception error) throws Exception {
+        String stale = task.cache.getStale(task.cacheKey);
+        if (stale == null) {
+            throw error;
+        }
+        Log.w(TAG, "Serving stale translation: " + error.getMessage());
+        task.source = TranslationMetrics.Source.STALE_CACHE;
+        return new MyMemoryResponse(stale, MyMemoryResponse.STATUS_UNKNOWN, null, null);
+    }
+
+    // Failures worth retrying and counting against the backend's health
+    private static boolean isTransient(Exception e) {
+        if (e instanceof HttpStatusException) {
+            int code = ((HttpStatusException) e).code;
+            return code >= 500 || code == 429 || code == 408;
+        }
+        // Timeouts, connection failures and truncated bodies
+        return e instanceof IOException && !(e instanceof CircuitOpenException);
+    }
+
+    private static String errorCause(Exception e) {
+        if (e instanceof CircuitOpenException) {
+            return TranslationMetrics.ERROR_CIRCUIT_OPEN;
+        }
+        if (e instanceof HttpStatusException) {
+            return "http_" + ((HttpStatusException) e).code;
+        }
+        return TranslationMetrics.causeOf(e);
+    }
+
+    private static long hedgeDelayMillis() {
+        if (!hedgingEnabled) {
+            return 0;
+        }
+        Histogram.Snapshot network = metrics.getNetworkLatency();
+        if (network.count < MIN_HEDGE_SAMPLES) {
+            return 0;
+        }
+        return Math.max(MIN_HEDGE_DELAY_MILLIS, network.p95());
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /** Refused without a network call because the circuit breaker is open. */
+    private static final class CircuitOpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        CircuitOpenException() {
+            super("Translation service temporarily unavailable");
+        }
+    }
+
+    /** A non-2xx HTTP response, kept apart from transport failures in the error counts. */
+    private static final class HttpStatusException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        final int code;
+
+        HttpStatusException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+
+    private static final class TranslationTask implements Runnable {
+        final SingleFlight.Flight<TranslationHandle> flight;
+        final String cacheKey;
+        final boolean recognizedText;
+        final TranslationCache cache;
+        final TranslationBackend backend;
+        final TranslationMemory memory;
+        final String text;
+        final String sourceLangCode;
+        final String targetLangCode;
+        final long createdAt = System.nanoTime();
+        volatile TranslationMetrics.Source source;
+        final List<Call> calls = new CopyOnWriteArrayList<>();
+        final CountDownLatch abortSignal = new CountDownLatch(1);
+        volatile Future<?> future;
+        volatile boolean aborted;
+
+        TranslationTask(SingleFlight.Flight<TranslationHandle> flight, String cacheKey, boolean recognizedText,
+                        TranslationCache cache, TranslationBackend backend, TranslationMemory memory,
+                        String text, String sourceLangCode, String targetLangCode) {
+            this.flight = flight;
+            this.cacheKey = cacheKey;
+            this.recognizedText = recognizedText;
+            this.cache = cache;
+            this.backend = backend;
+            this.memory = memory;
+            this.text = text;
+            this.sourceLangCode = sourceLangCode;
+            this.targetLangCode = targetLangCode;
+        }
+
+        @Override
+        public void run() {
+            if (aborted) {
+                return;
+            }
+            metrics.recordQueueWait(elapsedMillis(createdAt));
+            try {
+                MyMemoryResponse result = fetchTranslation(this);
+                metrics.recordLatency(sourceLangCode, targetLangCode, source, elapsedMillis(createdAt));
+                finish(result, null);
+            } catch (Exception e) {
+                if (aborted) {
+                    metrics.recordError(TranslationMetrics.ERROR_CANCELLED);
                 } else {
-                    callback.onTranslationError(new Exception("Translation failed"));
+                    Log.e(TAG, "Translation error: " + e.getMessage());
+                    metrics.recordError(errorCause(e));
                 }
+                finish(null, e);
+            }
+        }
+
+        // Runs when every caller has cancelled: drop the HTTP call and the queued task
+        void abort() {
+            aborted = true;
+            abortSignal.countDown();
+            for (Call call : calls) {
+                call.cancel();
+            }
+            Future<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
             }
-        }.execute();
+        }
+
+        // Every call made for this task, including retries and hedges, so abort() reaches them
+        void track(Call call) {
+            calls.add(call);
+            if (aborted) {
+                call.cancel();
+            }
+        }
+
+        /** Waits out a retry backoff; true if the task was aborted meanwhile. */
+        boolean awaitAbort(long millis) {
+            try {
+                return abortSignal.await(millis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+
+        void finish(MyMemoryResponse result, Exception error) {
+            List<TranslationHandle> waiters = inFlight.complete(flight);
+            if (waiters.isEmpty()) {
+                return;
+            }
+            mainHandler.post(() -> {
+                for (TranslationHandle waiter : waiters) {
+                    if (result != null) {
+                        waiter.deliver(result.getTranslatedText(), result.getMatches(), null);
+                    } else {
+                        waiter.deliver(null, error);
+                    }
+                }
+            });
+        }
     }
 
     public static String getLanguageCode(String language) {
-        return LANGUAGE_CODES.get(language);
+        return LanguageRegistry.getCode(language);
     }
 
     public static String getLanguageName(String code) {
-        return LANGUAGE_NAMES.get(code);
+        return LanguageRegistry.getName(code);
     }
 
-    public static String[] getSupportedLanguages() {
-        return LANGUAGE_CODES.keySet().toArray(new String[0]);
+    /** Display names in a fixed order, English first; the list is shared and unmodifiable. */
+    public static List<String> getSupportedLanguages() {
+        return LanguageRegistry.getDisplayNames();
     }
 }
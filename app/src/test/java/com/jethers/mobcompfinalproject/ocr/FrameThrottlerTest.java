@@ -0,0 +1,44 @@
+package com.jethers.mobcompfinalproject.ocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameThrottlerTest {
+    @Test
+    public void skipsFramesWhileRecognizerIsBusy() {
+        FrameThrottler throttler = new FrameThrottler(100, 1000);
+
+        assertTrue(throttler.tryStart(0));
+        assertFalse(throttler.tryStart(500));
+        throttler.onFinished(600);
+
+        assertTrue(throttler.tryStart(1700));
+        assertEquals(1, throttler.getSkippedFrames());
+    }
+
+    @Test
+    public void intervalFollowsRecognizerLatency() {
+        FrameThrottler throttler = new FrameThrottler(100, 1000);
+        assertEquals(100, throttler.intervalMs());
+
+        throttler.tryStart(0);
+        throttler.onFinished(300);
+
+        assertEquals(600, throttler.intervalMs());
+        assertFalse(throttler.tryStart(500));
+        assertTrue(throttler.tryStart(600));
+    }
+
+    @Test
+    public void intervalIsClamped() {
+        FrameThrottler throttler = new FrameThrottler(100, 1000);
+        throttler.tryStart(0);
+        throttler.onFinished(20);
+        assertEquals(100, throttler.intervalMs());
+
+        throttler.tryStart(1000);
+        throttler.onFinished(6000);
+        assertEquals(1000, throttler.intervalMs());
+    }
+}
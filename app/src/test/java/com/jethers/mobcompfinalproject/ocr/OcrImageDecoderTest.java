@@ -0,0 +1,27 @@
+package com.jethers.mobcompfinalproject.ocr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OcrImageDecoderTest {
+    @Test
+    public void scaleFor_bringsLongEdgeToTarget() {
+        assertEquals(0.5f, OcrImageDecoder.scaleFor(8000, 6000, 4000), 0.0001f);
+        assertEquals(0.5f, OcrImageDecoder.scaleFor(3000, 4096, 2048), 0.0001f);
+    }
+
+    @Test
+    public void scaleFor_neverUpscales() {
+        assertEquals(1f, OcrImageDecoder.scaleFor(640, 480, 2048), 0f);
+    }
+
+    @Test
+    public void sampleSizeFor_keepsLongEdgeAtOrAboveTarget() {
+        // 50 MP: 8160 / 2 = 4080, / 4 = 2040 would drop below 2048
+        assertEquals(2, OcrImageDecoder.sampleSizeFor(8160, 6120, 2048));
+        assertEquals(4, OcrImageDecoder.sampleSizeFor(8192, 6144, 2048));
+        assertEquals(1, OcrImageDecoder.sampleSizeFor(4000, 3000, 2048));
+        assertEquals(1, OcrImageDecoder.sampleSizeFor(1024, 768, 2048));
+    }
+}
@@ -0,0 +1,71 @@
+package com.jethers.mobcompfinalproject.ocr;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class TextBlockTrackerTest {
+    private static TextBlockTracker.Observation block(String text, int left, int top) {
+        return new TextBlockTracker.Observation(text, left, top, left + 200, top + 40);
+    }
+
+    @Test
+    public void unchangedBlocksAreTranslatedOnce() {
+        TextBlockTracker tracker = new TextBlockTracker(5, 1);
+
+        TextBlockTracker.Diff first = tracker.update(Arrays.asList(block("EXIT", 0, 0), block("No smoking", 0, 100)));
+        assertEquals(2, first.toTranslate.size());
+        for (TextBlockTracker.Block b : first.toTranslate) {
+            tracker.setTranslation(b, b.getText(), "t:" + b.getText());
+        }
+
+        // The camera moved a little; the text is identical
+        TextBlockTracker.Diff second = tracker.update(Arrays.asList(block("EXIT", 10, 5), block("No smoking", 12, 104)));
+        assertEquals(0, second.changed);
+        assertTrue(second.toTranslate.isEmpty());
+        assertEquals("t:EXIT", second.visible.get(0).getTranslation());
+    }
+
+    @Test
+    public void editedBlockInSamePlaceKeepsIdAndIsRetranslated() {
+        TextBlockTracker tracker = new TextBlockTracker(5, 1);
+        TextBlockTracker.Block exit = tracker.update(Collections.singletonList(block("EXlT", 0, 0))).toTranslate.get(0);
+        tracker.markRequested(exit);
+
+        TextBlockTracker.Diff diff = tracker.update(Collections.singletonList(block("EXIT", 4, 2)));
+
+        assertEquals(1, diff.changed);
+        assertEquals(exit.id, diff.visible.get(0).id);
+        assertEquals(Collections.singletonList(exit), diff.stale);
+        assertEquals(Collections.singletonList(exit), diff.toTranslate);
+        assertFalse(tracker.setTranslation(exit, "EXlT", "stale"));
+    }
+
+    @Test
+    public void blocksWaitUntilStable() {
+        TextBlockTracker tracker = new TextBlockTracker(5, 2);
+
+        assertTrue(tracker.update(Collections.singletonList(block("Platform 3", 0, 0))).toTranslate.isEmpty());
+        assertEquals(1, tracker.update(Collections.singletonList(block("Platform 3", 0, 0))).toTranslate.size());
+    }
+
+    @Test
+    public void briefDropoutKeepsTranslation() {
+        TextBlockTracker tracker = new TextBlockTracker(2, 1);
+        TextBlockTracker.Block exit = tracker.update(Collections.singletonList(block("EXIT", 0, 0))).toTranslate.get(0);
+        tracker.setTranslation(exit, "EXIT", "SALIDA");
+
+        tracker.update(Collections.<TextBlockTracker.Observation>emptyList());
+        TextBlockTracker.Diff back = tracker.update(Collections.singletonList(block("EXIT", 0, 0)));
+        assertEquals("SALIDA", back.visible.get(0).getTranslation());
+        assertTrue(back.toTranslate.isEmpty());
+
+        tracker.update(Collections.<TextBlockTracker.Observation>emptyList());
+        tracker.update(Collections.<TextBlockTracker.Observation>emptyList());
+        TextBlockTracker.Diff gone = tracker.update(Collections.<TextBlockTracker.Observation>emptyList());
+        assertEquals(Collections.singletonList(exit), gone.removed);
+    }
+}
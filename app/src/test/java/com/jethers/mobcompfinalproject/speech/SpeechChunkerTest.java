@@ -0,0 +1,69 @@
+package com.jethers.mobcompfinalproject.speech;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class SpeechChunkerTest {
+    private static String repeat(String text, int times) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            out.append(text);
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void firstSentenceIsSpokenAlone() {
+        List<String> chunks = SpeechChunker.split("Hello there. How are you? I am fine.", 4000, Locale.ENGLISH);
+
+        assertEquals(2, chunks.size());
+        assertEquals("Hello there.", chunks.get(0));
+        assertEquals("How are you? I am fine.", chunks.get(1));
+    }
+
+    @Test
+    public void longFirstSentenceStartsWithItsFirstClause() {
+        String sentence = "When you arrive at the station, walk past the ticket office and the newsagent, "
+                + "then take the second staircase on your left down to platform four.";
+
+        List<String> chunks = SpeechChunker.split(sentence, 4000, Locale.ENGLISH);
+
+        assertEquals("When you arrive at the station, walk past the ticket office and the newsagent,", chunks.get(0));
+        assertTrue(chunks.get(0).length() <= SpeechChunker.FIRST_CHUNK_TARGET);
+        assertEquals(sentence, String.join(" ", chunks));
+    }
+
+    @Test
+    public void laterSentencesArePackedUpToTarget() {
+        String text = "Start. " + repeat("This sentence is about forty chars long. ", 20);
+
+        List<String> chunks = SpeechChunker.split(text, 4000, Locale.ENGLISH);
+
+        assertEquals("Start.", chunks.get(0));
+        for (String chunk : chunks) {
+            assertTrue(chunk.length() <= SpeechChunker.CHUNK_TARGET);
+        }
+        assertTrue(chunks.size() < 12);
+    }
+
+    @Test
+    public void noChunkExceedsEngineLimit() {
+        String unbroken = repeat("x", 250);
+
+        List<String> chunks = SpeechChunker.split(unbroken, 100, Locale.ENGLISH);
+
+        assertEquals(3, chunks.size());
+        for (String chunk : chunks) {
+            assertTrue(chunk.length() <= 100);
+        }
+    }
+
+    @Test
+    public void blankTextHasNoChunks() {
+        assertTrue(SpeechChunker.split("  ", 4000, Locale.ENGLISH).isEmpty());
+    }
+}
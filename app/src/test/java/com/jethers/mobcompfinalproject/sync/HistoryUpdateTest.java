@@ -0,0 +1,64 @@
+package com.jethers.mobcompfinalproject.sync;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class HistoryUpdateTest {
+    private static final Object SERVER_TIME = new Object();
+
+    @Test
+    public void add_writesWholeNodeUnderUserHistory() {
+        HistoryUpdate update = new HistoryUpdate("uid1", SERVER_TIME);
+        update.add("en", "es", "hello", "hola", 100, 200);
+
+        Map<String, Object> paths = update.toMap();
+        assertEquals(1, paths.size());
+        String path = paths.keySet().iterator().next();
+        assertEquals("History/uid1/" + HistoryUpdate.entryKey("en", "es", "hello"), path);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> node = (Map<String, Object>) paths.get(path);
+        assertEquals("en", node.get(HistoryUpdate.FIELD_SOURCE_LANG));
+        assertEquals("es", node.get(HistoryUpdate.FIELD_TARGET_LANG));
+        assertEquals("hello", node.get(HistoryUpdate.FIELD_SOURCE_TEXT));
+        assertEquals("hola", node.get(HistoryUpdate.FIELD_TARGET_TEXT));
+        assertEquals(100L, node.get(HistoryUpdate.FIELD_CREATED_AT));
+        assertEquals(200L, node.get(HistoryUpdate.FIELD_UPDATED_AT));
+        assertSame(SERVER_TIME, node.get(HistoryUpdate.FIELD_SYNCED_AT));
+    }
+
+    @Test
+    public void add_sameTranslationTwice_keepsLatestOnly() {
+        HistoryUpdate update = new HistoryUpdate("uid1", SERVER_TIME);
+        update.add("en", "es", "hello", "hola", 100, 200);
+        update.add("en", "es", "hello", "buenas", 100, 300);
+        update.add("en", "fr", "hello", "bonjour", 150, 250);
+
+        assertEquals(2, update.size());
+        assertEquals(300, update.getMaxUpdatedAt());
+    }
+
+    @Test
+    public void entryKey_isStableAndSeparatesFields() {
+        assertEquals(HistoryUpdate.entryKey("en", "es", "hello"), HistoryUpdate.entryKey("en", "es", "hello"));
+        assertNotEquals(HistoryUpdate.entryKey("en", "es", "hello"), HistoryUpdate.entryKey("en", "fr", "hello"));
+        assertNotEquals(HistoryUpdate.entryKey("en", "es", "xhello"), HistoryUpdate.entryKey("en", "esx", "hello"));
+    }
+
+    @Test
+    public void entryKey_usesOnlyCharactersFirebaseAllows() {
+        String key = HistoryUpdate.entryKey("en", "es", "a.b#c$d[e]f/g");
+        assertEquals(32, key.length());
+        assertTrue(key.matches("[0-9a-f]+"));
+    }
+
+    @Test
+    public void emptyUpdate_reportsEmpty() {
+        HistoryUpdate update = new HistoryUpdate("uid1", SERVER_TIME);
+        assertTrue(update.isEmpty());
+        assertEquals(Long.MIN_VALUE, update.getMaxUpdatedAt());
+    }
+}
@@ -0,0 +1,44 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchTranslationTest {
+    @Test
+    public void dedupe_keepsFirstOccurrenceInOrder() {
+        List<String> texts = Arrays.asList("Exit", "Menu", "Exit", "Help");
+        int[] indexOf = new int[texts.size()];
+
+        List<String> unique = BatchTranslation.dedupe(texts, indexOf);
+
+        assertEquals(Arrays.asList("Exit", "Menu", "Help"), unique);
+        assertArrayEquals(new int[]{0, 1, 0, 2}, indexOf);
+    }
+
+    @Test
+    public void dedupe_matchesTextsThatNormalizeTheSame() {
+        List<String> texts = Arrays.asList("Open  daily", " Open daily ", "Open (daily)");
+        int[] indexOf = new int[texts.size()];
+
+        List<String> unique = BatchTranslation.dedupe(texts, indexOf);
+
+        assertEquals(1, unique.size());
+        assertEquals("Open  daily", unique.get(0));
+        assertArrayEquals(new int[]{0, 0, 0}, indexOf);
+    }
+
+    @Test
+    public void dedupe_skipsBlankInput() {
+        List<String> texts = Arrays.asList("", "Hello", null, "  ");
+        int[] indexOf = new int[texts.size()];
+
+        List<String> unique = BatchTranslation.dedupe(texts, indexOf);
+
+        assertEquals(Arrays.asList("Hello"), unique);
+        assertArrayEquals(new int[]{-1, 0, -1, -1}, indexOf);
+    }
+}
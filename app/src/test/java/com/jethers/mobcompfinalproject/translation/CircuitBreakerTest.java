@@ -0,0 +1,86 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+    private long now = 1_000;
+
+    private CircuitBreaker newBreaker() {
+        return new CircuitBreaker(3, 10_000, () -> now);
+    }
+
+    @Test
+    public void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = newBreaker();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    public void successResetsFailureCount() {
+        CircuitBreaker breaker = newBreaker();
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void letsOneTrialThroughAfterOpenPeriod() {
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        now += 10_000;
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void failedTrialReopens() {
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        now += 10_000;
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now += 9_999;
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void trialThatNeverReportsIsReplaced() {
+        CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        now += 10_000;
+        assertTrue(breaker.allowRequest());
+
+        now += 10_000;
+
+        assertTrue(breaker.allowRequest());
+    }
+}
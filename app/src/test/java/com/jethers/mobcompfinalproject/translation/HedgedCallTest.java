@@ -0,0 +1,112 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+public class HedgedCallTest {
+    private MockWebServer server;
+    private OkHttpClient client;
+    private final List<Call> started = new CopyOnWriteArrayList<>();
+    private Boolean hedgeWon;
+
+    private final HedgedCall.Listener listener = new HedgedCall.Listener() {
+        @Override
+        public void onCallStarted(Call call) {
+            started.add(call);
+        }
+
+        @Override
+        public void onHedgeFinished(boolean won) {
+            hedgeWon = won;
+        }
+    };
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private Call newCall() {
+        return client.newCall(new Request.Builder().url(server.url("/get")).build());
+    }
+
+    @Test
+    public void fastResponse_sendsNoHedge() throws IOException {
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        try (Response response = HedgedCall.execute(newCall(), 1_000, listener)) {
+            assertEquals("ok", response.body().string());
+        }
+        assertEquals(1, started.size());
+        assertNull(hedgeWon);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void slowResponse_isOvertakenByHedge() throws IOException {
+        server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(3, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("fast"));
+
+        long start = System.nanoTime();
+        try (Response response = HedgedCall.execute(newCall(), 100, listener)) {
+            assertEquals("fast", response.body().string());
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+        assertEquals(2, started.size());
+        assertTrue(hedgeWon);
+        assertTrue(started.get(0).isCanceled());
+    }
+
+    @Test
+    public void failedPrimary_waitsForHedge() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("ok").setHeadersDelay(500, TimeUnit.MILLISECONDS));
+
+        try (Response response = HedgedCall.execute(newCall(), 100, listener)) {
+            assertEquals(200, response.code());
+            assertEquals("ok", response.body().string());
+        }
+        assertTrue(hedgeWon);
+    }
+
+    @Test
+    public void bothFailing_returnsFirstFailure() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setResponseCode(500).setHeadersDelay(500, TimeUnit.MILLISECONDS));
+
+        try (Response response = HedgedCall.execute(newCall(), 100, listener)) {
+            assertEquals(503, response.code());
+        }
+        assertFalse(hedgeWon);
+    }
+
+    @Test(expected = IOException.class)
+    public void transportFailure_isThrown() throws IOException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        HedgedCall.execute(newCall(), 0, listener);
+    }
+}
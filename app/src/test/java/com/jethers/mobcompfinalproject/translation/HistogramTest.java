@@ -0,0 +1,58 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HistogramTest {
+    @Test
+    public void percentiles_areWithinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.count);
+        assertEquals(1000, snapshot.max);
+        assertEquals(500.5, snapshot.mean(), 0.001);
+        assertWithin(500, snapshot.p50());
+        assertWithin(950, snapshot.p95());
+        assertWithin(990, snapshot.p99());
+    }
+
+    @Test
+    public void smallValues_areExact() {
+        Histogram histogram = new Histogram();
+        histogram.record(0);
+        histogram.record(3);
+        histogram.record(7);
+
+        assertEquals(0, histogram.snapshot().percentile(0.3));
+        assertEquals(3, histogram.snapshot().p50());
+        assertEquals(7, histogram.snapshot().p99());
+    }
+
+    @Test
+    public void buckets_coverTheirUpperBound() {
+        for (long value : new long[]{8, 9, 15, 16, 1000, 123456789L, Long.MAX_VALUE}) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(value <= Histogram.upperBoundOf(bucket));
+            assertEquals(bucket, Histogram.bucketOf(Histogram.upperBoundOf(bucket)));
+        }
+    }
+
+    @Test
+    public void emptySnapshot_reportsZero() {
+        Histogram.Snapshot snapshot = new Histogram().snapshot();
+
+        assertEquals(0, snapshot.count);
+        assertEquals(0, snapshot.p99());
+        assertEquals(0.0, snapshot.mean(), 0.0);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                actual >= expected && actual <= expected * 1.13);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LanguageDetectionCacheTest {
+    private static String words(int count) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            out.append(i == 0 ? "" : " ").append("palabra");
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void sample_isNormalizedText() {
+        assertEquals("Bonjour, le monde!", LanguageDetectionCache.sampleOf("  Bonjour,\n  le (monde)! "));
+    }
+
+    @Test
+    public void sample_isCutAtWordBoundary() {
+        String sample = LanguageDetectionCache.sampleOf(words(100));
+
+        assertTrue(sample.length() <= LanguageDetectionCache.MAX_SAMPLE_CHARS);
+        assertTrue(sample.endsWith("palabra"));
+    }
+
+    @Test
+    public void sample_withoutSpacesIsCutAtLimit() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 150; i++) {
+            text.append("中文");
+        }
+
+        assertEquals(LanguageDetectionCache.MAX_SAMPLE_CHARS, LanguageDetectionCache.sampleOf(text.toString()).length());
+    }
+
+    @Test
+    public void hash_sameTextSameKey() {
+        String a = LanguageDetectionCache.sampleOf("Where is the station?");
+        String b = LanguageDetectionCache.sampleOf(" Where  is the station? ");
+
+        assertEquals(LanguageDetectionCache.hash(a), LanguageDetectionCache.hash(b));
+        assertNotEquals(LanguageDetectionCache.hash(a), LanguageDetectionCache.hash("Where is the train?"));
+        assertNotEquals(LanguageDetectionCache.hash("Ā"), LanguageDetectionCache.hash("\u0001"));
+    }
+
+    @Test
+    public void cache_evictsLeastRecentlyUsed() {
+        LanguageDetectionCache cache = new LanguageDetectionCache(2);
+        cache.put(1L, "en");
+        cache.put(2L, "fr");
+        cache.get(1L);
+        cache.put(3L, "de");
+
+        assertEquals(2, cache.size());
+        assertEquals("en", cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals("de", cache.get(3L));
+    }
+}
@@ -0,0 +1,60 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class LanguageRegistryTest {
+    @Test
+    public void displayOrder_startsWithEnglishThenSpanish() {
+        assertEquals("English", LanguageRegistry.getDisplayNames().get(0));
+        assertEquals("Spanish", LanguageRegistry.getDisplayNames().get(1));
+        assertEquals(LanguageRegistry.getLanguages().size(), LanguageRegistry.getDisplayNames().size());
+    }
+
+    @Test
+    public void lookups_roundTrip() {
+        for (LanguageRegistry.Language language : LanguageRegistry.getLanguages()) {
+            assertSame(language, LanguageRegistry.forName(language.displayName));
+            assertSame(language, LanguageRegistry.forCode(language.code));
+            assertEquals(language.code, LanguageRegistry.getCode(language.displayName));
+            assertEquals(language.displayName, LanguageRegistry.getName(language.code));
+            assertEquals(language.code, language.locale.getLanguage());
+            assertTrue(language.recognizerTag.startsWith(language.code + "-"));
+        }
+    }
+
+    @Test
+    public void codesAndNames_areUnique() {
+        Set<String> codes = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (LanguageRegistry.Language language : LanguageRegistry.getLanguages()) {
+            assertTrue(codes.add(language.code));
+            assertTrue(names.add(language.displayName));
+        }
+    }
+
+    @Test
+    public void locales_matchFormerMapping() {
+        assertEquals(Locale.CHINESE, LanguageRegistry.forCode("zh").locale);
+        assertEquals(Locale.JAPANESE, LanguageRegistry.forCode("ja").locale);
+        assertEquals(new Locale("pt"), LanguageRegistry.forCode("pt").locale);
+    }
+
+    @Test
+    public void unknownLanguages_areNull() {
+        assertNull(LanguageRegistry.forName("Klingon"));
+        assertNull(LanguageRegistry.forName(null));
+        assertNull(LanguageRegistry.getCode("Auto-detect"));
+        assertNull(LanguageRegistry.getName("und"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void displayNames_areUnmodifiable() {
+        LanguageRegistry.getDisplayNames().add("Klingon");
+    }
+}
@@ -0,0 +1,58 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import com.google.gson.JsonParseException;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class MyMemoryResponseParserTest {
+    private static final String RESPONSE = "{"
+            + "\"responseData\":{\"translatedText\":\"Hola mundo\",\"match\":0.98},"
+            + "\"quotaFinished\":false,\"mtLangSupported\":null,\"responseDetails\":\"\","
+            + "\"responseStatus\":200,\"responderId\":null,\"exception_code\":null,"
+            + "\"matches\":["
+            + "{\"id\":\"1\",\"segment\":\"Hello world\",\"translation\":\"Hola mundo\",\"quality\":\"74\","
+            + "\"reference\":null,\"usage-count\":2,\"match\":0.98,\"created-by\":\"MateCat\"},"
+            + "{\"id\":\"2\",\"segment\":\"Hello world!\",\"translation\":\"¡Hola mundo!\",\"quality\":80,\"match\":0.9},"
+            + "{\"id\":\"3\",\"segment\":\"hello\",\"translation\":\"hola\",\"quality\":\"70\",\"match\":0.5}"
+            + "]}";
+
+    @Test
+    public void parse_readsTranslationStatusAndTopMatches() throws Exception {
+        MyMemoryResponse response = MyMemoryResponseParser.parse(new StringReader(RESPONSE), 2);
+
+        assertEquals("Hola mundo", response.getTranslatedText());
+        assertEquals(200, response.getResponseStatus());
+        assertTrue(response.isStatusOk());
+        assertEquals(2, response.getMatches().size());
+        assertEquals(74, response.getMatches().get(0).getQuality());
+        assertEquals("¡Hola mundo!", response.getMatches().get(1).getTranslation());
+        assertEquals(0.9, response.getMatches().get(1).getMatch(), 1e-9);
+    }
+
+    @Test
+    public void parse_skipsMatchesWhenNotRequested() throws Exception {
+        MyMemoryResponse response = MyMemoryResponseParser.parse(new StringReader(RESPONSE), 0);
+
+        assertEquals("Hola mundo", response.getTranslatedText());
+        assertTrue(response.getMatches().isEmpty());
+    }
+
+    @Test
+    public void parse_acceptsStringStatus() throws Exception {
+        String body = "{\"responseData\":{\"translatedText\":\"'XX' IS AN INVALID TARGET LANGUAGE\"},"
+                + "\"responseStatus\":\"403\",\"responseDetails\":\"'XX' IS AN INVALID TARGET LANGUAGE\"}";
+        MyMemoryResponse response = MyMemoryResponseParser.parse(new StringReader(body), 3);
+
+        assertEquals(403, response.getResponseStatus());
+        assertFalse(response.isStatusOk());
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void parse_rejectsMissingTranslation() throws Exception {
+        MyMemoryResponseParser.parse(new StringReader("{\"responseStatus\":200,\"matches\":[]}"), 3);
+    }
+}
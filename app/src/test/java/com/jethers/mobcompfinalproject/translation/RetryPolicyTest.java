@@ -0,0 +1,51 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RetryPolicyTest {
+    @Test
+    public void retriesUntilMaxAttempts() {
+        RetryPolicy policy = new RetryPolicy(3, 100, 1_000, new Random(1));
+
+        assertTrue(policy.shouldRetry(1));
+        assertTrue(policy.shouldRetry(2));
+        assertFalse(policy.shouldRetry(3));
+        assertFalse(RetryPolicy.noRetries().shouldRetry(1));
+    }
+
+    @Test
+    public void backoffStaysUnderExponentialCap() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1_000, new Random(7));
+        long[] caps = {100, 200, 400, 800, 1_000, 1_000};
+        for (int n = 0; n < 1_000; n++) {
+            for (int attempt = 1; attempt <= caps.length; attempt++) {
+                long delay = policy.backoffMillis(attempt);
+                assertTrue("attempt " + attempt + " waited " + delay, delay >= 0 && delay <= caps[attempt - 1]);
+            }
+        }
+    }
+
+    @Test
+    public void backoffIsJittered() {
+        RetryPolicy policy = new RetryPolicy(3, 1_000, 1_000, new Random(3));
+        long first = policy.backoffMillis(1);
+        boolean varied = false;
+        for (int n = 0; n < 20 && !varied; n++) {
+            varied = policy.backoffMillis(1) != first;
+        }
+        assertTrue(varied);
+    }
+
+    @Test
+    public void largeAttemptCountsDoNotOverflow() {
+        RetryPolicy policy = new RetryPolicy(100, 250, 2_000, new Random(5));
+
+        long delay = policy.backoffMillis(80);
+
+        assertTrue(delay >= 0 && delay <= 2_000);
+    }
+}
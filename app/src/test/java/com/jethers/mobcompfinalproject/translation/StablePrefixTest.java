@@ -0,0 +1,41 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StablePrefixTest {
+    @Test
+    public void onlyWordsSharedByConsecutiveHypothesesAreStable() {
+        StablePrefix prefix = new StablePrefix();
+
+        assertEquals("", prefix.offer("where"));
+        assertEquals("where", prefix.offer("where is"));
+        assertEquals("where is", prefix.offer("where is the"));
+        assertEquals("where is the", prefix.offer("where is the train"));
+    }
+
+    @Test
+    public void partlyHeardWordIsNotStable() {
+        assertEquals("where is the", StablePrefix.commonWordPrefix("where is the stat", "where is the station"));
+        assertEquals("where is", StablePrefix.commonWordPrefix("where is th", "where is the station"));
+    }
+
+    @Test
+    public void revisedWordsShrinkThePrefix() {
+        StablePrefix prefix = new StablePrefix();
+        prefix.offer("I scream for");
+
+        assertEquals("", prefix.offer("ice cream for"));
+        assertEquals("ice cream for", prefix.offer("ice cream for everyone"));
+    }
+
+    @Test
+    public void hypothesesDifferingOnlyInCaseAreFullyStable() {
+        StablePrefix prefix = new StablePrefix();
+        prefix.offer("Thank you");
+
+        // The latest hypothesis supplies the text
+        assertEquals("thank you", prefix.offer("thank you"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import java.net.URLEncoder;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TextNormalizerTest {
+    // The regex chain TextNormalizer replaces
+    private static String legacyClean(String text) {
+        return text.trim()
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\p{Punct}&&[^',.!?]]", "");
+    }
+
+    @Test
+    public void normalize_matchesExamples() {
+        assertEquals("Hello, world!", TextNormalizer.normalize("  Hello,\t\n world!  "));
+        assertEquals("a  b", TextNormalizer.normalize("a - b"));
+        assertEquals("Don't stop", TextNormalizer.normalize("Don't (stop)"));
+        assertEquals("Hello%2C+world%21+%C3%A9", TextNormalizer.normalizeAndEncode(" Hello, world! é"));
+    }
+
+    @Test
+    public void output_isIdenticalToLegacyChain() throws Exception {
+        char[] pool = (" \t\n\u000B\f\r\u001Caz,.!?'\"#$%&()*+-/:;<=>@[]^_`{|}~"
+                + "éñ中😀\ud83d𐀀  Zz09").toCharArray();
+        Random random = new Random(42);
+        for (int n = 0; n < 20000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int i = 0; i < length; i++) {
+                text.append(pool[random.nextInt(pool.length)]);
+            }
+            String input = text.toString();
+            String cleaned = legacyClean(input);
+
+            assertEquals(input, cleaned, TextNormalizer.normalize(input));
+            assertEquals(input, URLEncoder.encode(cleaned, "UTF-8"), TextNormalizer.normalizeAndEncode(input));
+        }
+    }
+}
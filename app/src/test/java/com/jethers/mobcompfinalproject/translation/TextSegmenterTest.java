@@ -0,0 +1,83 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TextSegmenterTest {
+    @Test
+    public void split_packsSentencesAndKeepsLineBreaks() {
+        String text = "Hello there. How are you?\nI am fine! Thanks.\n\nNew paragraph here.";
+        List<TextSegmenter.Segment> segments = TextSegmenter.split(text, 20);
+
+        assertEquals(4, segments.size());
+        assertEquals("How are you?", segments.get(1).text);
+        assertEquals("\n\n", segments.get(2).separator);
+
+        String[] translations = new String[segments.size()];
+        for (int i = 0; i < translations.length; i++) {
+            translations[i] = segments.get(i).text;
+        }
+        assertEquals(text, TextSegmenter.join(segments, translations));
+    }
+
+    @Test
+    public void split_cutsLongSentencesAtSpaces() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("word ");
+        }
+        for (TextSegmenter.Segment segment : TextSegmenter.split(text.toString(), 100)) {
+            assertTrue(segment.text.length() <= 100);
+            assertFalse(segment.text.startsWith(" "));
+        }
+    }
+
+    @Test
+    public void join_stopsAtFirstUnfinishedSegment() {
+        List<TextSegmenter.Segment> segments = TextSegmenter.fromBlocks(Arrays.asList("STOP", "  ", "Exit", "Open"));
+
+        assertEquals(3, segments.size());
+        assertEquals("ALTO\nSalida", TextSegmenter.join(segments, new String[]{"ALTO", "Salida", null}));
+    }
+
+    @Test
+    public void split_limitsUtf8BytesForMultiByteText() {
+        // 3 bytes per character in UTF-8, so 300 characters are 900 bytes
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            text.append("東京駅から新幹線で大阪へ");
+        }
+        text.append("。");
+        List<TextSegmenter.Segment> segments = TextSegmenter.split(text.toString(), 100);
+
+        StringBuilder rejoined = new StringBuilder();
+        for (TextSegmenter.Segment segment : segments) {
+            assertTrue(segment.text.getBytes(StandardCharsets.UTF_8).length <= 100);
+            rejoined.append(segment.text);
+        }
+        assertEquals(text.toString(), rejoined.toString());
+    }
+
+    @Test
+    public void split_neverCutsSurrogatePairs() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            text.append("\uD83D\uDE00");
+        }
+        for (TextSegmenter.Segment segment : TextSegmenter.split(text.toString(), 10)) {
+            assertEquals(8, segment.text.getBytes(StandardCharsets.UTF_8).length);
+            assertFalse(Character.isLowSurrogate(segment.text.charAt(0)));
+        }
+    }
+
+    @Test
+    public void utf8Length_matchesEncoder() {
+        String text = "aé東\uD83D\uDE00";
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length, TextSegmenter.utf8Length(text, 0, text.length()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TextSimilarityTest {
+    @Test
+    public void trigrams_arePaddedAndCaseFolded() {
+        Set<String> grams = TextSimilarity.trigrams("Exit");
+
+        assertEquals(4, grams.size());
+        assertTrue(grams.contains(" ex"));
+        assertTrue(grams.contains("it "));
+    }
+
+    @Test
+    public void boundedEditDistance_countsMisreadCharacters() {
+        assertEquals(0, TextSimilarity.boundedEditDistance("No Parking", "no parking", 2));
+        assertEquals(1, TextSimilarity.boundedEditDistance("No Parking", "No Parklng", 2));
+        assertEquals(2, TextSimilarity.boundedEditDistance("Emergency exit", "Emergncy exlt", 2));
+    }
+
+    @Test
+    public void boundedEditDistance_stopsAtBound() {
+        assertEquals(2, TextSimilarity.boundedEditDistance("kitten", "sitting", 1));
+        assertEquals(2, TextSimilarity.boundedEditDistance("short", "much longer text", 1));
+    }
+
+    @Test
+    public void sameDigits_comparesOnlyDigitSequences() {
+        assertTrue(TextSimilarity.sameDigits("Gate 12", "Gale 12"));
+        assertTrue(TextSimilarity.sameDigits("No Parking", "No Parklng"));
+        assertFalse(TextSimilarity.sameDigits("Gate 12", "Gate 13"));
+        assertFalse(TextSimilarity.sameDigits("Price 10", "Price 90"));
+        assertFalse(TextSimilarity.sameDigits("Room 1", "Room 10"));
+        assertFalse(TextSimilarity.sameDigits("Exit", "Exit 1"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class TranslationCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void memoryTier_evictsLeastRecentlyUsed() {
+        TranslationCache cache = new TranslationCache(null, 2, 10, 60_000);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertEquals("1", cache.getFromMemory("a"));
+        cache.put("c", "3");
+
+        assertNull(cache.getFromMemory("b"));
+        assertEquals("1", cache.getFromMemory("a"));
+        assertEquals("3", cache.getFromMemory("c"));
+        assertEquals(1, cache.getStats().evictions);
+    }
+
+    @Test
+    public void diskTier_survivesNewInstance() throws Exception {
+        File dir = folder.newFolder("translations");
+        TranslationCache first = new TranslationCache(dir);
+        first.put(TranslationCache.key("hello", "en", "es"), "hola");
+
+        TranslationCache second = new TranslationCache(dir);
+        assertNull(second.getFromMemory(TranslationCache.key("hello", "en", "es")));
+        assertEquals("hola", second.get(TranslationCache.key("hello", "en", "es")));
+        assertEquals(1, second.getStats().diskHits);
+
+        // Promoted into memory by the disk hit
+        assertEquals("hola", second.getFromMemory(TranslationCache.key("hello", "en", "es")));
+    }
+
+    @Test
+    public void expiredEntries_areMisses() throws Exception {
+        File dir = folder.newFolder("expired");
+        TranslationCache cache = new TranslationCache(dir, 4, 10, -1);
+        cache.put("k", "v");
+
+        assertNull(cache.get("k"));
+        assertEquals(1, cache.getStats().misses);
+    }
+
+    @Test
+    public void expiredEntries_areStillServedAsStale() throws Exception {
+        File dir = folder.newFolder("stale");
+        TranslationCache cache = new TranslationCache(dir, 4, 10, -1);
+        cache.put("k", "v");
+        assertNull(cache.get("k"));
+
+        assertEquals("v", cache.getStale("k"));
+        assertEquals("v", new TranslationCache(dir, 4, 10, -1).getStale("k"));
+        assertNull(cache.getStale("missing"));
+    }
+
+    @Test
+    public void diskTier_isTrimmedToBudget() throws Exception {
+        File dir = folder.newFolder("bounded");
+        TranslationCache cache = new TranslationCache(dir, 4, 10, 60_000);
+        for (int i = 0; i < 25; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+        assertTrue(dir.listFiles().length <= 10);
+    }
+}
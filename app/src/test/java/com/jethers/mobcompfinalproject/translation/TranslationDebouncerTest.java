@@ -0,0 +1,59 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranslationDebouncerTest {
+    @Test
+    public void firstEdit_waitsForQuietPeriod() {
+        TranslationDebouncer debouncer = new TranslationDebouncer(400, 1000);
+        assertEquals(400, debouncer.delayAfterEdit(0));
+    }
+
+    @Test
+    public void editSoonAfterStart_waitsForMinInterval() {
+        TranslationDebouncer debouncer = new TranslationDebouncer(400, 1000);
+        debouncer.onStarted(1000);
+
+        assertEquals(900, debouncer.delayAfterEdit(1100));
+        assertEquals(400, debouncer.delayAfterEdit(1700));
+        assertEquals(400, debouncer.delayAfterEdit(5000));
+    }
+
+    @Test
+    public void continuousTyping_startsOnlyAfterTypingStops() {
+        TranslationDebouncer debouncer = new TranslationDebouncer(400, 1000);
+        long starts = simulate(debouncer, 50, 10_000);
+
+        assertEquals(1, starts);
+        assertEquals(1, debouncer.getStartedCount());
+    }
+
+    @Test
+    public void pausesJustLongerThanQuietPeriod_stayWithinMinInterval() {
+        TranslationDebouncer debouncer = new TranslationDebouncer(400, 1000);
+        // One keystroke every 450 ms would start a request per keystroke with a plain debounce
+        long starts = simulate(debouncer, 450, 10_000);
+
+        assertTrue("started " + starts, starts <= 10_000 / 1000 + 1);
+        assertTrue("started " + starts, starts >= 5);
+    }
+
+    // Types one character every editEveryMs until typingMs, then runs until everything has fired
+    private static long simulate(TranslationDebouncer debouncer, long editEveryMs, long typingMs) {
+        long scheduledAt = -1;
+        long starts = 0;
+        for (long now = 0; now <= typingMs + 2000; now++) {
+            if (scheduledAt >= 0 && now >= scheduledAt) {
+                debouncer.onStarted(now);
+                starts++;
+                scheduledAt = -1;
+            }
+            if (now <= typingMs && now % editEveryMs == 0) {
+                scheduledAt = now + debouncer.delayAfterEdit(now);
+            }
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,81 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * URL building, HTTP call on the tuned shared client and response parsing against a local
+ * MockWebServer. TranslationService itself posts to the Android main looper, so this covers
+ * everything on the translation path below it. New connections are reported per iteration
+ * next to the score; with a working pool they stay at zero after the first.
+ */
+@State(Scope.Benchmark)
+public class BackendRoundTripBenchmark {
+    private MockWebServer server;
+    private MyMemoryBackend backend;
+
+    /** Connections opened and calls made during each iteration. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ConnectionCounters {
+        public long connectionsOpened;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            connectionsOpened = 0;
+            calls = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final String body = ResponseParsingBenchmark.sampleResponse(10);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(body);
+            }
+        });
+        server.start();
+
+        OkHttpClient client = TranslationHttpClient.create(null);
+        backend = new MyMemoryBackend(client, server.url("/").toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public MyMemoryResponse translate(ConnectionCounters counters) throws IOException {
+        TranslationHttpClient.ConnectionStats stats = TranslationHttpClient.getConnectionStats();
+        long opened = stats.getConnectionsOpened();
+        Call call = backend.newCall("Welcome to the museum. Please keep your ticket.", "en", "es");
+        try (Response response = call.execute()) {
+            return backend.parseResponse(response);
+        } finally {
+            counters.connectionsOpened += stats.getConnectionsOpened() - opened;
+            counters.calls++;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Repeat translations answered from the memory tier. */
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+    private TranslationCache cache;
+    private String key;
+
+    @Setup
+    public void setUp() {
+        cache = new TranslationCache();
+        for (int i = 0; i < TranslationCache.DEFAULT_MEMORY_ENTRIES; i++) {
+            cache.put(TranslationCache.key("phrase " + i, "en", "es"), "frase " + i);
+        }
+        key = TranslationCache.key("phrase 42", "en", "es");
+    }
+
+    @Benchmark
+    public String memoryHit() {
+        return cache.getFromMemory(key);
+    }
+
+    @Benchmark
+    public String keyAndHit() {
+        return cache.getFromMemory(TranslationCache.key(TextNormalizer.normalize("  phrase   42 "), "en", "es"));
+    }
+}
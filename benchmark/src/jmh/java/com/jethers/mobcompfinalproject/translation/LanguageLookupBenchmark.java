@@ -0,0 +1,41 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/** Display name to API code and back, Locale lookup, and the spinner language list. */
+@State(Scope.Benchmark)
+public class LanguageLookupBenchmark {
+    private final String[] names = {"English", "Spanish", "Japanese", "Korean"};
+    private final String[] codes = {"en", "es", "ja", "ko"};
+
+    @Benchmark
+    public void codeForName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LanguageRegistry.getCode(name));
+        }
+    }
+
+    @Benchmark
+    public void nameForCode(Blackhole blackhole) {
+        for (String code : codes) {
+            blackhole.consume(LanguageRegistry.getName(code));
+        }
+    }
+
+    @Benchmark
+    public List<String> supportedLanguages() {
+        return LanguageRegistry.getDisplayNames();
+    }
+
+    @Benchmark
+    public void localeForName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LanguageRegistry.forName(name).locale);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+/** Text cleaning and URL building, before and after the single-pass normalizer. */
+@State(Scope.Benchmark)
+public class NormalizationBenchmark {
+    @Param({"sign", "paragraph"})
+    public String input;
+
+    private String text;
+    private MyMemoryBackend backend;
+
+    @Setup
+    public void setUp() {
+        if (input.equals("sign")) {
+            text = "  NO PARKING -- Tow-away zone!  ";
+        } else {
+            text = "Welcome to the museum.  Please keep your ticket (and receipt) with you at all times;\n"
+                    + "photography is permitted in most galleries, except where marked: \"No flash\". "
+                    + "Café & gift shop — open 9:00–17:00 daily!";
+        }
+        backend = new MyMemoryBackend(null);
+    }
+
+    @Benchmark
+    public String legacyRegexClean() throws UnsupportedEncodingException {
+        String cleaned = text.trim()
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\p{Punct}&&[^',.!?]]", "");
+        return URLEncoder.encode(cleaned, "UTF-8");
+    }
+
+    @Benchmark
+    public String normalizeAndEncode() {
+        return TextNormalizer.normalizeAndEncode(text);
+    }
+
+    @Benchmark
+    public String normalizeCacheKey() {
+        return TextNormalizer.normalize(text);
+    }
+
+    @Benchmark
+    public String buildUrl() {
+        return backend.buildUrl(text, "en", "es");
+    }
+}
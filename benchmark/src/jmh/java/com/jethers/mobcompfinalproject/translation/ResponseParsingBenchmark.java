@@ -0,0 +1,61 @@
+package com.jethers.mobcompfinalproject.translation;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/** Full Gson tree (the original parser) against the streaming MyMemoryResponseParser. */
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+    private final Gson gson = new Gson();
+    private String body;
+
+    @Setup
+    public void setUp() {
+        body = sampleResponse(10);
+    }
+
+    @Benchmark
+    public String gsonTree() {
+        JsonObject json = gson.fromJson(body, JsonObject.class);
+        return json.getAsJsonObject("responseData").get("translatedText").getAsString();
+    }
+
+    @Benchmark
+    public MyMemoryResponse streamingWithoutMatches() throws IOException {
+        return MyMemoryResponseParser.parse(new StringReader(body), 0);
+    }
+
+    @Benchmark
+    public MyMemoryResponse streamingTopMatches() throws IOException {
+        return MyMemoryResponseParser.parse(new StringReader(body), MyMemoryBackend.MAX_MATCHES);
+    }
+
+    /** A MyMemory-shaped response with the given number of matches. */
+    static String sampleResponse(int matches) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"responseData\":{\"translatedText\":\"Bienvenido al museo. Por favor, conserve su entrada.\",")
+                .append("\"match\":0.98},\"quotaFinished\":false,\"mtLangSupported\":null,\"responseDetails\":\"\",")
+                .append("\"responseStatus\":200,\"responderId\":null,\"exception_code\":null,\"matches\":[");
+        for (int i = 0; i < matches; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(443000000 + i).append("\",")
+                    .append("\"segment\":\"Welcome to the museum. Please keep your ticket.\",")
+                    .append("\"translation\":\"Bienvenido al museo. Por favor, conserve su entrada ").append(i).append(".\",")
+                    .append("\"source\":\"en-GB\",\"target\":\"es-ES\",\"quality\":\"74\",\"reference\":null,")
+                    .append("\"usage-count\":2,\"subject\":\"All\",\"created-by\":\"MateCat\",")
+                    .append("\"last-updated-by\":\"MateCat\",\"create-date\":\"2023-06-01 10:00:00\",")
+                    .append("\"last-update-date\":\"2023-06-01 10:00:00\",\"match\":0.").append(99 - i).append('}');
+        }
+        return json.append("]}").toString();
+    }
+}